@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates and approves non-overlapping bookings from several threads, either each thread on an item
+ * of its own or all of them on one item. Approvals of one item are serialized by its row lock, so
+ * the first mode should scale with cores and the second should not. Use {@code -t} to change the
+ * number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class BookingApprovalBenchmark {
+    private static final LocalDateTime EPOCH = LocalDateTime.now().plusYears(3);
+    private static final AtomicInteger NEXT_ITEM = new AtomicInteger(SeededApplication.POWER_OWNER_ITEMS);
+
+    private BookingService bookingService;
+    private ItemService itemService;
+    private ItemSlots sharedItem;
+
+    @Setup
+    public void setUp(SeededApplication application) {
+        bookingService = application.bean(BookingService.class);
+        itemService = application.bean(ItemService.class);
+        sharedItem = new ItemSlots(nextAvailableItem(itemService));
+    }
+
+    @Benchmark
+    public BookingDto approveDistinctItems(ThreadItem threadItem) {
+        return createAndApprove(threadItem.slots);
+    }
+
+    @Benchmark
+    public BookingDto approveSameItem() {
+        return createAndApprove(sharedItem);
+    }
+
+    private BookingDto createAndApprove(ItemSlots slots) {
+        LocalDateTime start = EPOCH.plusHours(2 * slots.nextSlot.getAndIncrement());
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setItemId(slots.item.getId());
+        request.setStart(start);
+        request.setEnd(start.plusHours(1));
+        BookingDto booking = bookingService.create(SeededApplication.BOOKER_ID, request);
+        return bookingService.approve(slots.item.getOwnerId(), booking.getId(), true);
+    }
+
+    private static Item nextAvailableItem(ItemService itemService) {
+        while (true) {
+            Item item = itemService.findByIdOrThrow((long) NEXT_ITEM.incrementAndGet());
+            if (item.getAvailable()) {
+                return item;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadItem {
+        private ItemSlots slots;
+
+        @Setup
+        public void setUp(SeededApplication application) {
+            slots = new ItemSlots(nextAvailableItem(application.bean(ItemService.class)));
+        }
+    }
+
+    private static final class ItemSlots {
+        private final Item item;
+        private final AtomicLong nextSlot = new AtomicLong();
+
+        private ItemSlots(Item item) {
+            this.item = item;
+        }
+    }
+}
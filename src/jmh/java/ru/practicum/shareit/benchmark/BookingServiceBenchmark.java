@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.KeysetPage;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private BookingService bookingService;
+    private long[] availableItemIds;
+
+    @Setup
+    public void setUp(SeededApplication application) {
+        bookingService = application.bean(BookingService.class);
+        // Roughly one item in ten is seeded as unavailable; only the others can be booked.
+        availableItemIds = application.bean(JdbcTemplate.class)
+                .queryForList("SELECT item_id FROM items WHERE available AND owner_id <> ? ORDER BY item_id",
+                        Long.class, SeededApplication.POWER_OWNER_ID)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @Benchmark
+    public KeysetPage<BookingDto> getAllByOwner(OwnerQuery query) {
+        return bookingService.getAllByOwner(SeededApplication.POWER_OWNER_ID, query.state, 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public BookingDto create() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setItemId(availableItemIds[random.nextInt(availableItemIds.length)]);
+        request.setStart(LocalDateTime.now().plusYears(2).plusHours(random.nextInt(24 * 365)));
+        request.setEnd(request.getStart().plusHours(1 + random.nextInt(72)));
+        // Only approved bookings block an interval, so waiting ones may overlap and create never fails.
+        return bookingService.create(SeededApplication.BOOKER_ID, request);
+    }
+
+    @State(Scope.Benchmark)
+    public static class OwnerQuery {
+        @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+        private String state;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private ItemService itemService;
+
+    @Setup
+    public void setUp(SeededApplication application) {
+        itemService = application.bean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems(SearchQuery query) {
+        return itemService.searchItems(query.text, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemDto getItemByIdAsOwner() {
+        long itemId = 1 + ThreadLocalRandom.current().nextInt(SeededApplication.POWER_OWNER_ITEMS);
+        return itemService.getItemById(itemId, SeededApplication.POWER_OWNER_ID);
+    }
+
+    @Benchmark
+    public ItemDto getItemByIdAsGuest() {
+        long itemId = 1 + ThreadLocalRandom.current().nextInt(SeededApplication.ITEMS);
+        return itemService.getItemById(itemId, SeededApplication.BOOKER_ID);
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchQuery {
+        @Param({"a", "saw", "cordless drill", "missing"})
+        private String text;
+    }
+}
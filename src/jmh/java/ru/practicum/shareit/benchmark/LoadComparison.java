@@ -0,0 +1,127 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against the seeded application, once on the platform-thread Tomcat pool and
+ * once with virtual threads and the datasource concurrency limit. Every client issues a mix of item
+ * views, owner booking pages and searches back to back and the run reports throughput and latency
+ * percentiles of each mode.
+ * <p>
+ * Arguments: {@code clients seconds maxConcurrency}, defaulting to {@code 1000 30 10}.
+ */
+public class LoadComparison {
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int maxConcurrency = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        List<String> report = new ArrayList<>();
+        report.add(run("platform", clients, duration, "--spring.threads.virtual.enabled=false"));
+        report.add(run("virtual", clients, duration, "--spring.threads.virtual.enabled=true",
+                "--shareit.datasource.max-concurrency=" + maxConcurrency));
+
+        System.out.printf("%n%-9s %8s %10s %9s %9s %9s %7s%n",
+                "mode", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        report.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String run(String mode, int clients, Duration duration, String... args) throws Exception {
+        ConfigurableApplicationContext context = SeededApplication.startSeeded(WebApplicationType.SERVLET,
+                concat(args, "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL"));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        try {
+            drive(port, clients, WARMUP);
+            Result result = drive(port, clients, duration);
+            return String.format("%-9s %8d %10.1f %9.1f %9.1f %9.1f %7d", mode, clients,
+                    result.latencies().size() / (double) duration.toSeconds(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(1.0), result.errors());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result drive(int port, int clients, Duration duration) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(port);
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            } else {
+                                latencies.add(System.nanoTime() - started);
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        return new Result(new ArrayList<>(latencies), errors.get());
+    }
+
+    private static HttpRequest nextRequest(int port) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = 3 + random.nextInt(SeededApplication.USERS - 2);
+        String path = switch (random.nextInt(3)) {
+            case 0 -> "/items/" + (1 + random.nextInt(SeededApplication.ITEMS));
+            case 1 -> "/bookings/owner?state=ALL&size=20";
+            default -> "/items/search?text=cordless%20drill&size=20";
+        };
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    private static String[] concat(String[] first, String... second) {
+        List<String> all = new ArrayList<>(List.of(first));
+        all.addAll(List.of(second));
+        return all.toArray(String[]::new);
+    }
+
+    private record Result(List<Long> latencies, long errors) {
+        double percentile(double quantile) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+            return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the application against an in-memory H2 database seeded with a catalog of realistic size.
+ * User {@link #POWER_OWNER_ID} owns the first {@link #POWER_OWNER_ITEMS} items and receives a large
+ * share of the bookings; user {@link #BOOKER_ID} owns nothing and is used to create bookings.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+    public static final long POWER_OWNER_ID = 1L;
+    public static final long BOOKER_ID = 2L;
+    public static final int USERS = 1_000;
+    public static final int ITEMS = 10_000;
+    public static final int POWER_OWNER_ITEMS = 500;
+    public static final int BOOKINGS = 100_000;
+    public static final int COMMENTS = 20_000;
+
+    private static final String[] WORDS = {
+        "drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "camera", "tripod", "projector",
+        "speaker", "grill", "mixer", "vacuum", "sander", "router", "jigsaw", "wrench", "mower", "trimmer"
+    };
+    private static final String[] ADJECTIVES = {
+        "cordless", "electric", "heavy", "compact", "portable", "old", "new", "professional", "small", "large"
+    };
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "WAITING", "REJECTED"};
+    private static final int BATCH = 5_000;
+    private static final int ID_BLOCK = 50;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = startSeeded(WebApplicationType.NONE);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public static ConfigurableApplicationContext startSeeded(WebApplicationType webApplicationType, String... args) {
+        List<String> arguments = new ArrayList<>(List.of("--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        arguments.addAll(List.of(args));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .web(webApplicationType)
+                .bannerMode(Banner.Mode.OFF)
+                .run(arguments.toArray(String[]::new));
+        seed(context.getBean(JdbcTemplate.class), new Random(42));
+        context.getBean(ItemSearchIndex.class).rebuild();
+        context.getBean(BookingIntervalIndex.class).reconcile();
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbc, Random random) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            rows.add(new Object[]{i, "user" + i, "user" + i + "@bench.ru"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)", rows);
+
+        rows.clear();
+        for (int i = 1; i <= ITEMS; i++) {
+            long ownerId = i <= POWER_OWNER_ITEMS ? POWER_OWNER_ID : 3 + random.nextInt(USERS - 2);
+            String word = WORDS[random.nextInt(WORDS.length)];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + word;
+            String description = "A " + name + " for rent, comes with a " + WORDS[random.nextInt(WORDS.length)];
+            rows.add(new Object[]{i, name, description, random.nextInt(10) > 0, ownerId});
+            flush(jdbc, "INSERT INTO items (item_id, name, description, available, owner_id) "
+                    + "VALUES (?, ?, ?, ?, ?)", rows);
+        }
+        jdbc.batchUpdate("INSERT INTO items (item_id, name, description, available, owner_id) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+        // Ids were given explicitly; the next block handed out by the sequences must start above them.
+        jdbc.execute("ALTER SEQUENCE users_seq RESTART WITH " + (USERS + ID_BLOCK));
+        jdbc.execute("ALTER SEQUENCE items_seq RESTART WITH " + (ITEMS + ID_BLOCK));
+
+        LocalDateTime now = LocalDateTime.now();
+        rows.clear();
+        for (int i = 0; i < BOOKINGS; i++) {
+            long itemId = random.nextInt(10) < 4
+                    ? 1 + random.nextInt(POWER_OWNER_ITEMS)
+                    : POWER_OWNER_ITEMS + 1 + random.nextInt(ITEMS - POWER_OWNER_ITEMS);
+            LocalDateTime start = now.minusDays(730).plusHours(random.nextInt(1095 * 24));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(7 * 24));
+            long bookerId = 3 + random.nextInt(USERS - 2);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end), itemId, bookerId,
+                    STATUSES[random.nextInt(STATUSES.length)]});
+            flush(jdbc, "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                    + "VALUES (?, ?, ?, ?, ?)", rows);
+        }
+        jdbc.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int i = 0; i < COMMENTS; i++) {
+            rows.add(new Object[]{"Comment " + i, 1 + random.nextInt(ITEMS), 3 + random.nextInt(USERS - 2),
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(500_000)))});
+            flush(jdbc, "INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)", rows);
+        }
+        jdbc.batchUpdate("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private static void flush(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (rows.size() == BATCH) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
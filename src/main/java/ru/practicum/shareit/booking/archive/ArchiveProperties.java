@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bookings that ended more than {@code afterDays} days ago are moved to the archive in chunks of
+ * {@code chunkSize} rows every {@code interval}. A run holds the archive lease for up to
+ * {@code lockTimeout} per chunk, so another instance can take over after a crash.
+ */
+@ConfigurationProperties(prefix = "shareit.archive")
+public record ArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("180") int afterDays,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("PT1H") Duration interval,
+        @DefaultValue("PT10M") Duration lockTimeout) {
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves bookings that ended long ago from {@code bookings} to {@code bookings_archive}. Every chunk
+ * is copied and deleted in its own transaction, so a run never holds locks on more than one chunk
+ * and an interrupted run simply continues with the next one. Waiting bookings stay where they are
+ * until the owner answers them. Only the instance holding the {@code scheduler_locks} lease runs;
+ * the lease is extended after every chunk and expires on its own if the instance dies.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingArchiver {
+    static final String LOCK_NAME = "booking-archiver";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+
+    @Scheduled(initialDelayString = "${shareit.archive.interval:PT1H}",
+            fixedDelayString = "${shareit.archive.interval:PT1H}")
+    public void archive() {
+        if (!acquireLock()) {
+            log.debug("Booking archive is run by another instance");
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime before = now.minusDays(properties.afterDays());
+        int total = 0;
+        int moved;
+        try {
+            do {
+                moved = transactionTemplate.execute(status -> archiveChunk(before, now));
+                total += moved;
+            } while (moved == properties.chunkSize() && acquireLock());
+        } finally {
+            transactionTemplate.executeWithoutResult(status ->
+                    schedulerLockRepository.release(LOCK_NAME, instanceId, LocalDateTime.now()));
+        }
+        if (total > 0) {
+            log.info("Archived {} bookings that ended before {}", total, before);
+        }
+    }
+
+    private boolean acquireLock() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> schedulerLockRepository.tryAcquire(LOCK_NAME, instanceId,
+                now, now.plus(properties.lockTimeout()))) == 1;
+    }
+
+    private int archiveChunk(LocalDateTime before, LocalDateTime archivedAt) {
+        List<Long> ids = bookingRepository.findArchivableIds(before, PageRequest.of(0, properties.chunkSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedBookingRepository.copyFromBookings(ids, archivedAt);
+        return bookingRepository.deleteByIdIn(ids);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.archive;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease of a scheduled job in {@code scheduler_locks}. The instance named in {@code lockedBy} may run
+ * the job until {@code lockedUntil}; after that any instance may take the lease over.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "lock_name")
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
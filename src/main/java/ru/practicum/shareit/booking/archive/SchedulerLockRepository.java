@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Takes or extends the lease, which succeeds when it has expired or is already held by {@code owner}.
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until, l.lockedBy = :owner " +
+            "WHERE l.name = :name AND (l.lockedUntil <= :now OR l.lockedBy = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
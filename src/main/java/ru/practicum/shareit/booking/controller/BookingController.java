@@ -1,21 +1,38 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.KeysetPage;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import static ru.practicum.shareit.constants.Headers.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.constants.Headers.USER_ID_HEADER;
 
 
+@Validated
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto create(@RequestHeader(USER_ID_HEADER) Long userId,
@@ -23,6 +40,12 @@ public class BookingController {
         return bookingService.create(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBatch(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                   @RequestBody List<CreateBookingRequestDto> requestDtos) {
+        return bookingService.createBatch(userId, requestDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approve(@RequestHeader(USER_ID_HEADER) Long userId,
                               @PathVariable Long bookingId,
@@ -43,14 +66,50 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllByUser(@RequestHeader(USER_ID_HEADER) Long userId,
-                                         @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getAllByUser(userId, state);
+    public ResponseEntity<List<BookingDto>> getAllByUser(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                         @RequestParam(required = false) @Positive
+                                                         @Max(BookingService.MAX_PAGE_SIZE) Integer size,
+                                                         @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getAllByUser(userId, state, from, size, cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
-                                          @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getAllByOwner(userId, state);
+    public ResponseEntity<List<BookingDto>> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                          @RequestParam(defaultValue = "ALL") String state,
+                                                          @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                          @RequestParam(required = false) @Positive
+                                                         @Max(BookingService.MAX_PAGE_SIZE) Integer size,
+                                                          @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getAllByOwner(userId, state, from, size, cursor));
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerSummary(@RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingService.getOwnerSummary(userId);
+    }
+
+    @GetMapping(path = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        bookingService.exportByOwner(userId, booking -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private ResponseEntity<List<BookingDto>> toResponse(KeysetPage<BookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
     }
 }
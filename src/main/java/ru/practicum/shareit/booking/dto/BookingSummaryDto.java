@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking counts of an owner per state, in total and per item, ordered by item id.
+ */
+public record BookingSummaryDto(Map<BookingState, Long> states, List<ItemBookingCounts> items) {
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a booking list, selected with a constructor expression so no entity is managed.
+ */
+public record BookingView(Long id,
+                          LocalDateTime start,
+                          LocalDateTime end,
+                          BookingStatus status,
+                          Long bookerId,
+                          String bookerName,
+                          Long itemId,
+                          String itemName) {
+}
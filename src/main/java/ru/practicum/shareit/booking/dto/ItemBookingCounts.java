@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Number of bookings of one item in every {@link ru.practicum.shareit.booking.model.BookingState},
+ * selected with a constructor expression over a {@code GROUP BY} of the item.
+ */
+public record ItemBookingCounts(Long itemId,
+                                String itemName,
+                                Long all,
+                                Long current,
+                                Long past,
+                                Long future,
+                                Long waiting,
+                                Long rejected) {
+
+    public ItemBookingCounts plus(ItemBookingCounts other) {
+        return new ItemBookingCounts(itemId, itemName,
+                all + other.all(),
+                current + other.current(),
+                past + other.past(),
+                future + other.future(),
+                waiting + other.waiting(),
+                rejected + other.rejected());
+    }
+}
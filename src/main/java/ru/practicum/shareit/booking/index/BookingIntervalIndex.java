@@ -0,0 +1,176 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approved bookings of every item kept as a sorted set of disjoint busy intervals, so an
+ * overlap check is a single floor lookup. Intervals are closed, matching the BETWEEN
+ * semantics of the former conflict query. Bookings that ended before the index was built
+ * or pruned are left out, as new bookings cannot start in the past.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex implements SmartInitializingSingleton {
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    public void reconcile() {
+        List<Booking> approved = bookingRepository.findByStatusAndEndAfter(BookingStatus.APPROVED, LocalDateTime.now());
+        Map<Long, ItemSchedule> rebuilt = new HashMap<>();
+        for (Booking booking : approved) {
+            rebuilt.computeIfAbsent(booking.getItem().getId(), id -> new ItemSchedule())
+                    .add(new Interval(booking.getId(), booking.getStart(), booking.getEnd()));
+        }
+        schedules.keySet().retainAll(rebuilt.keySet());
+        schedules.putAll(rebuilt);
+        log.info("Booking interval index reconciled: {} approved bookings across {} items",
+                approved.size(), rebuilt.size());
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemSchedule schedule = schedules.get(itemId);
+        return schedule != null && schedule.overlaps(start, end);
+    }
+
+    /**
+     * Atomically checks the item for approved bookings overlapping the interval and, when there
+     * are none, records the booking as approved. Inside a transaction the reservation is
+     * released again if the transaction does not commit.
+     *
+     * @return {@code false} if the interval is already taken
+     */
+    public boolean tryReserve(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        ItemSchedule schedule = schedules.computeIfAbsent(itemId, id -> new ItemSchedule());
+        if (!schedule.tryAdd(new Interval(bookingId, start, end), LocalDateTime.now())) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(itemId, bookingId);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    public void release(Long itemId, Long bookingId) {
+        ItemSchedule schedule = schedules.get(itemId);
+        if (schedule != null) {
+            schedule.remove(bookingId);
+        }
+    }
+
+    private record Interval(Long bookingId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static final class ItemSchedule {
+        private final TreeMap<LocalDateTime, LocalDateTime> busy = new TreeMap<>();
+        private final NavigableSet<Interval> bookings = new TreeSet<>(
+                Comparator.comparing(Interval::start).thenComparing(Interval::bookingId));
+        private final Map<Long, Interval> bookingsById = new HashMap<>();
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> candidate = busy.floorEntry(end);
+            return candidate != null && !candidate.getValue().isBefore(start);
+        }
+
+        synchronized boolean tryAdd(Interval interval, LocalDateTime now) {
+            pruneEndedBefore(now);
+            if (overlaps(interval.start(), interval.end())) {
+                return false;
+            }
+            add(interval);
+            return true;
+        }
+
+        synchronized void add(Interval interval) {
+            if (bookingsById.putIfAbsent(interval.bookingId(), interval) != null) {
+                return;
+            }
+            bookings.add(interval);
+            merge(interval.start(), interval.end());
+        }
+
+        synchronized void remove(Long bookingId) {
+            Interval interval = bookingsById.remove(bookingId);
+            if (interval == null) {
+                return;
+            }
+            bookings.remove(interval);
+
+            Map.Entry<LocalDateTime, LocalDateTime> segment = busy.floorEntry(interval.start());
+            busy.remove(segment.getKey());
+            for (Interval rest : segmentBookings(segment)) {
+                merge(rest.start(), rest.end());
+            }
+        }
+
+        private void merge(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> before = busy.floorEntry(start);
+            if (before != null && !before.getValue().isBefore(start)) {
+                start = before.getKey();
+                end = max(end, before.getValue());
+                busy.remove(before.getKey());
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> after = busy.ceilingEntry(start);
+            while (after != null && !after.getKey().isAfter(end)) {
+                end = max(end, after.getValue());
+                busy.remove(after.getKey());
+                after = busy.ceilingEntry(start);
+            }
+            busy.put(start, end);
+        }
+
+        private void pruneEndedBefore(LocalDateTime now) {
+            Map.Entry<LocalDateTime, LocalDateTime> first = busy.firstEntry();
+            while (first != null && first.getValue().isBefore(now)) {
+                for (Interval ended : segmentBookings(first)) {
+                    bookings.remove(ended);
+                    bookingsById.remove(ended.bookingId());
+                }
+                busy.remove(first.getKey());
+                first = busy.firstEntry();
+            }
+        }
+
+        private List<Interval> segmentBookings(Map.Entry<LocalDateTime, LocalDateTime> segment) {
+            return new ArrayList<>(bookings.subSet(
+                    new Interval(Long.MIN_VALUE, segment.getKey(), segment.getKey()), true,
+                    new Interval(Long.MAX_VALUE, segment.getValue(), segment.getValue()), true));
+        }
+
+        private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+            return first.isAfter(second) ? first : second;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -44,4 +45,10 @@ public interface BookingMapper {
     @Mapping(target = "booker", source = "booking.booker")
     @Mapping(target = "item", source = "booking.item")
     BookingDto toDto(Booking booking);
+
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    BookingDto toDto(BookingView view);
 }
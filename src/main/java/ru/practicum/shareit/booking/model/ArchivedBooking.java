@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking moved to {@code bookings_archive} by the archiver; it keeps its original id.
+ */
+@Entity
+@Table(name = "bookings_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long id;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime end;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id", nullable = false)
+    private User booker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BookingStatus status;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Unmanaged copy for code that reads bookings regardless of where they are stored.
+     */
+    public Booking toBooking() {
+        return new Booking(id, start, end, item, booker, status);
+    }
+}
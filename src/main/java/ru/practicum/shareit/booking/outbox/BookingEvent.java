@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status change of a booking recorded in {@code booking_events} in the transaction that made it.
+ * Events of a booking are delivered in id order and deleted once every listener has handled them;
+ * a failed delivery is retried from {@code nextAttemptAt} on.
+ */
+@Entity
+@Table(name = "booking_events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookingEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "booker_id", nullable = false)
+    private Long bookerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private BookingEventType type;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+}
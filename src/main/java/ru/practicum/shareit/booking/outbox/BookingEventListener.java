@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.outbox;
+
+/**
+ * Receives booking events from the outbox relay. Delivery is at least once, so implementations
+ * must tolerate seeing an event twice. A listener that throws stops delivery of later events of
+ * the same booking until the next run. Each event is delivered in a transaction of its own; a
+ * listener that marks it rollback-only fails the event just as if it had thrown.
+ */
+public interface BookingEventListener {
+    void onEvent(BookingEvent event);
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * Oldest pending event of every booking that is due, locked for delivery. Later events of a
+     * booking wait until its head is delivered, and rows locked by another relay are skipped.
+     */
+    @Query(value = "SELECT * FROM booking_events e " +
+            "WHERE e.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM booking_events p " +
+            "WHERE p.booking_id = e.booking_id AND p.event_id < e.event_id) " +
+            "ORDER BY e.event_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BookingEvent> lockDueHeads(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
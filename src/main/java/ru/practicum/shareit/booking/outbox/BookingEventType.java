@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.outbox;
+
+public enum BookingEventType {
+    APPROVED,
+    REJECTED,
+    CANCELED
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+    private final BookingEventRepository bookingEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Booking booking, BookingEventType type) {
+        BookingEvent event = new BookingEvent();
+        event.setBookingId(booking.getId());
+        event.setItemId(booking.getItem().getId());
+        event.setBookerId(booking.getBooker().getId());
+        event.setType(type);
+        LocalDateTime now = LocalDateTime.now();
+        event.setCreatedAt(now);
+        event.setNextAttemptAt(now);
+        bookingEventRepository.save(event);
+    }
+}
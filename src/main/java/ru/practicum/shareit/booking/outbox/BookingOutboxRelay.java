@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands outbox events to every {@link BookingEventListener}, one batch per transaction, and deletes
+ * the delivered ones. Only the oldest event of a booking is taken, so events of one booking are
+ * never seen out of order. A failed event stays at the head of its booking and is retried with
+ * exponential backoff, while events of other bookings keep flowing. Batches are locked with
+ * {@code SKIP LOCKED}, so relays of several instances share the work instead of repeating it.
+ * Each event is delivered in its own transaction, so a listener that marks it rollback-only fails
+ * that event alone instead of rolling back the backoff and deletes of the whole batch.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingOutboxRelay {
+    private final BookingEventRepository bookingEventRepository;
+    private final List<BookingEventListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final TransactionTemplate deliveryTemplate;
+
+    public BookingOutboxRelay(BookingEventRepository bookingEventRepository, List<BookingEventListener> listeners,
+                              TransactionTemplate transactionTemplate, OutboxProperties properties) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.deliveryTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.deliveryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.outbox.interval:PT1S}",
+            fixedDelayString = "${shareit.outbox.interval:PT1S}")
+    public void relay() {
+        int delivered;
+        do {
+            delivered = transactionTemplate.execute(status -> relayBatch());
+        } while (delivered > 0);
+    }
+
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingEvent> events = bookingEventRepository.lockDueHeads(now, properties.batchSize());
+        List<BookingEvent> delivered = new ArrayList<>();
+        for (BookingEvent event : events) {
+            try {
+                deliveryTemplate.executeWithoutResult(status -> listeners.forEach(listener -> listener.onEvent(event)));
+                delivered.add(event);
+            } catch (RuntimeException e) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+                log.warn("Delivery of booking event {} failed {} times, next attempt at {}",
+                        event.getId(), event.getAttempts(), event.getNextAttemptAt(), e);
+            }
+        }
+        bookingEventRepository.deleteAllInBatch(delivered);
+        return delivered.size();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.retryBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+    }
+}
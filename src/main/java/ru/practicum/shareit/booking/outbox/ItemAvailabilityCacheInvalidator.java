@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.CacheNames;
+
+/**
+ * Evicts the availability of an item when one of its bookings changes on another instance. The
+ * instance that made the change already evicts it after commit, also with the outbox disabled.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityCacheInvalidator implements BookingEventListener {
+    private final CacheManager cacheManager;
+
+    @Override
+    public void onEvent(BookingEvent event) {
+        if (event.getType() != BookingEventType.REJECTED) {
+            cacheManager.getCache(CacheNames.ITEM_AVAILABILITY).evict(event.getItemId());
+        }
+    }
+}
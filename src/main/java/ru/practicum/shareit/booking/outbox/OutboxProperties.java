@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The relay drains up to {@code batchSize} booking events per transaction every {@code interval}.
+ * A failed event is retried after {@code retryBackoff}, doubled on every further failure up to
+ * {@code maxBackoff}.
+ */
+@ConfigurationProperties(prefix = "shareit.outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("PT1S") Duration interval,
+        @DefaultValue("PT1S") Duration retryBackoff,
+        @DefaultValue("PT5M") Duration maxBackoff) {
+}
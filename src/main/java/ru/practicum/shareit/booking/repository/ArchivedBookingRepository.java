@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.ItemBookingCounts;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.booking.repository.BookingRepository.AFTER_CURSOR;
+import static ru.practicum.shareit.booking.repository.BookingRepository.COUNT_BY_STATE;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    String SELECT_VIEW = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "b.id, b.start, b.end, b.status, bk.id, bk.name, i.id, i.name) " +
+            "FROM ArchivedBooking b JOIN b.item i JOIN b.booker bk ";
+
+    // Without declared tables Hibernate would invalidate every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings_archive"))
+    @Query(value = "INSERT INTO bookings_archive " +
+            "(booking_id, start_date, end_date, item_id, booker_id, status, archived_at) " +
+            "SELECT booking_id, start_date, end_date, item_id, booker_id, status, :archivedAt " +
+            "FROM bookings WHERE booking_id IN (:ids)", nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :bookerId " + AFTER_CURSOR)
+    List<BookingView> findByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :bookerId AND b.status = :status " + AFTER_CURSOR)
+    List<BookingView> findByBookerIdAndStatusAfterCursor(@Param("bookerId") Long bookerId,
+                                                         @Param("status") BookingStatus status,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId " + AFTER_CURSOR)
+    List<BookingView> findByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId AND b.status = :status " + AFTER_CURSOR)
+    List<BookingView> findByItemOwnerIdAndStatusAfterCursor(@Param("ownerId") Long ownerId,
+                                                            @Param("status") BookingStatus status,
+                                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                                            @Param("cursorId") Long cursorId,
+                                                            Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BookingRepository.EXPORT_FETCH_SIZE))
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamByItemOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ItemBookingCounts(i.id, i.name, " + COUNT_BY_STATE +
+            "FROM ArchivedBooking b JOIN b.item i WHERE i.ownerId = :ownerId GROUP BY i.id, i.name ORDER BY i.id")
+    List<ItemBookingCounts> countByItemOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<ArchivedBooking> findById(Long id);
+
+    Optional<ArchivedBooking> findFirstByItemIdOrderByStartDescIdDesc(Long itemId);
+
+    @Query("SELECT b FROM ArchivedBooking b JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.start = (SELECT MAX(l.start) FROM ArchivedBooking l WHERE l.item.id = b.item.id)")
+    List<ArchivedBooking> findLastByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    boolean existsByItemIdAndBookerId(Long itemId, Long bookerId);
+}
@@ -1,51 +1,188 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.ItemBookingCounts;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Sort sort);
-
-    List<Booking> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime end, Sort sort);
-
-    List<Booking> findByBookerIdAndStartAfter(Long bookerId, LocalDateTime start, Sort sort);
-
-    List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
-
-    List<Booking> findByItemIdAndEndBefore(Long itemId, LocalDateTime end, Sort sort);
-
-    List<Booking> findByItemIdAndStartAfter(Long itemId, LocalDateTime start, Sort sort);
+    String SELECT_VIEW = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "b.id, b.start, b.end, b.status, bk.id, bk.name, i.id, i.name) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker bk ";
+    String AFTER_CURSOR = "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC";
+    String EXPORT_FETCH_SIZE = "500";
+    String COUNT_BY_STATE = "COUNT(b), " +
+            "SUM(CASE WHEN b.start < :now AND b.end > :now THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.end < :now THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.start > :now THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = ru.practicum.shareit.booking.model.BookingStatus.REJECTED THEN 1 ELSE 0 END)) ";
+
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :bookerId " + AFTER_CURSOR)
+    List<BookingView> findByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :bookerId AND b.start < :now AND b.end > :now " + AFTER_CURSOR)
+    List<BookingView> findCurrentByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :bookerId AND b.end < :now " + AFTER_CURSOR)
+    List<BookingView> findPastByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                                    @Param("now") LocalDateTime now,
+                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :bookerId AND b.start > :now " + AFTER_CURSOR)
+    List<BookingView> findFutureByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                                      @Param("now") LocalDateTime now,
+                                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :bookerId AND b.status = :status " + AFTER_CURSOR)
+    List<BookingView> findByBookerIdAndStatusAfterCursor(@Param("bookerId") Long bookerId,
+                                                         @Param("status") BookingStatus status,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamByItemOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId " + AFTER_CURSOR)
+    List<BookingView> findByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId AND b.start < :now AND b.end > :now " + AFTER_CURSOR)
+    List<BookingView> findCurrentByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                                          @Param("now") LocalDateTime now,
+                                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId AND b.end < :now " + AFTER_CURSOR)
+    List<BookingView> findPastByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId AND b.start > :now " + AFTER_CURSOR)
+    List<BookingView> findFutureByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                                         @Param("now") LocalDateTime now,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE i.ownerId = :ownerId AND b.status = :status " + AFTER_CURSOR)
+    List<BookingView> findByItemOwnerIdAndStatusAfterCursor(@Param("ownerId") Long ownerId,
+                                                            @Param("status") BookingStatus status,
+                                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                                            @Param("cursorId") Long cursorId,
+                                                            Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ItemBookingCounts(i.id, i.name, " + COUNT_BY_STATE +
+            "FROM Booking b JOIN b.item i WHERE i.ownerId = :ownerId GROUP BY i.id, i.name ORDER BY i.id")
+    List<ItemBookingCounts> countByItemOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
+    Optional<Booking> findFirstByItemIdAndEndBeforeOrderByStartDescIdDesc(Long itemId, LocalDateTime end);
+
+    Optional<Booking> findFirstByItemIdAndStartAfterOrderByStartAscIdDesc(Long itemId, LocalDateTime start);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.end < :now " +
+            "AND b.start = (SELECT MAX(l.start) FROM Booking l WHERE l.item.id = b.item.id AND l.end < :now)")
+    List<Booking> findLastByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                    @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.start > :now " +
+            "AND b.start = (SELECT MIN(n.start) FROM Booking n WHERE n.item.id = b.item.id AND n.start > :now)")
+    List<Booking> findNextByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                    @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.id <> :bookingId " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "AND b.start <= :end AND b.end >= :start")
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId,
+                                  @Param("bookingId") Long bookingId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "AND b.start <= :end AND b.end >= :start")
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "AND b.start <= :to AND b.end >= :from")
+    List<Booking> findApprovedBetween(@Param("itemIds") Collection<Long> itemIds,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
 
     boolean existsByItemIdAndBookerIdAndEndBefore(Long itemId, Long bookerId, LocalDateTime end);
 
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfter(Long ownerId, LocalDateTime start, LocalDateTime end, Sort sort);
-
-    List<Booking> findByItemOwnerIdAndEndBefore(Long ownerId, LocalDateTime end, Sort sort);
+    List<Booking> findByStatusAndEndAfter(BookingStatus status, LocalDateTime end);
 
-    List<Booking> findByItemOwnerIdAndStartAfter(Long ownerId, LocalDateTime start, Sort sort);
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.end < :before AND b.status <> ru.practicum.shareit.booking.model.BookingStatus.WAITING " +
+            "ORDER BY b.id")
+    List<Long> findArchivableIds(@Param("before") LocalDateTime before, Pageable pageable);
 
-    List<Booking> findByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Sort sort);
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
-            "FROM Booking b " +
-            "WHERE b.item.id = :itemId " +
-            "AND b.status = 'APPROVED' " +
-            "AND ((b.start BETWEEN :start AND :end) OR (b.end BETWEEN :start AND :end) " +
-            "OR (b.start <= :start AND b.end >= :end))")
-    boolean existsApprovedBookingsForItemBetweenDates(
-            @Param("itemId") Long itemId,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
+    @Query("SELECT new ru.practicum.shareit.item.dto.TimeSlotDto(b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "AND b.end > :after ORDER BY b.start")
+    List<TimeSlotDto> findApprovedSlotsByItemId(@Param("itemId") Long itemId,
+                                                @Param("after") LocalDateTime after);
 }
-
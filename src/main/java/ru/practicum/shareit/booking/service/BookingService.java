@@ -1,23 +1,47 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.KeysetPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
+    int DEFAULT_PAGE_SIZE = 10;
+    int MAX_PAGE_SIZE = 100;
+
     BookingDto create(Long userId, CreateBookingRequestDto requestDto);
 
+    List<BookingBatchResultDto> createBatch(Long userId, List<CreateBookingRequestDto> requestDtos);
+
     BookingDto approve(Long userId, Long bookingId, Boolean approved);
 
     BookingDto cancel(Long userId, Long bookingId);
 
     BookingDto getById(Long userId, Long bookingId);
 
-    List<BookingDto> getAllByUser(Long userId, String state);
+    /**
+     * Bookings of the booker, newest first. Without {@code size}, {@code from} and {@code cursor}
+     * the whole list is returned as before pagination was added; otherwise a page of {@code size}
+     * (by default {@link #DEFAULT_PAGE_SIZE}) with the cursor of the next one.
+     */
+    KeysetPage<BookingDto> getAllByUser(Long userId, String state, Integer from, Integer size, String cursor);
+
+    /**
+     * Bookings of the owner's items, paged like {@link #getAllByUser}.
+     */
+    KeysetPage<BookingDto> getAllByOwner(Long userId, String state, Integer from, Integer size, String cursor);
+
+    /**
+     * Streams all bookings of the owner's items, live and archived, newest first.
+     */
+    void exportByOwner(Long userId, Consumer<BookingDto> consumer);
 
-    List<BookingDto> getAllByOwner(Long userId, String state);
+    BookingSummaryDto getOwnerSummary(Long ownerId);
 
     Booking findByIdOrThrow(Long bookingId);
 }
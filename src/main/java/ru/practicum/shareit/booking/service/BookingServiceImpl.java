@@ -1,88 +1,188 @@
 package ru.practicum.shareit.booking.service;
 
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.booking.dto.ItemBookingCounts;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.outbox.BookingEventType;
+import ru.practicum.shareit.booking.outbox.BookingOutbox;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.strategy.BookingPages;
 import ru.practicum.shareit.booking.strategy.booking.BookingStrategy;
 import ru.practicum.shareit.booking.strategy.owner.OwnerBookingStrategy;
+import ru.practicum.shareit.common.CacheNames;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final String ROLE_BOOKER = "booker";
+    private static final String ROLE_OWNER = "owner";
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
     private final UserService userService;
+    private final ItemService itemService;
     private final List<BookingStrategy> strategies;
     private final List<OwnerBookingStrategy> ownerStrategies;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final MeterRegistry meterRegistry;
+    private final BookingOutbox bookingOutbox;
+    private final CacheManager cacheManager;
+    // Meters of every (role, state) pair are built and registered once, on first use.
+    private final Map<String, Map<BookingState, StrategyMeters>> strategyMeters = new ConcurrentHashMap<>();
 
 
     @Override
     @Transactional
     public BookingDto create(Long userId, CreateBookingRequestDto requestDto) {
-        if (requestDto.getStart() == null || requestDto.getEnd() == null) {
-            throw new BadRequestException("Start and end dates must be provided");
-        }
-        if (requestDto.getStart().isAfter(requestDto.getEnd())) {
-            throw new BadRequestException("End date must be after start date");
-        }
-        if (requestDto.getStart().isEqual(requestDto.getEnd())) {
-            throw new BadRequestException("Start and end dates cannot be equal");
-        }
-        if (requestDto.getStart().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("Start date cannot be in the past");
-        }
-
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        Item item = itemRepository.findById(requestDto.getItemId())
-                .orElseThrow(() -> new NotFoundException("Item not found"));
-
-        if (!item.getAvailable()) {
-            throw new BadRequestException("Item is not available");
-        }
-        if (item.getOwnerId().equals(userId)) {
-            throw new BookingOwnItemException("Cannot book your own item");
-        }
-
-        boolean hasConflicts = bookingRepository.existsApprovedBookingsForItemBetweenDates(
-                item.getId(),
-                requestDto.getStart(),
-                requestDto.getEnd()
-        );
-
-        if (hasConflicts) {
+        validateDates(requestDto);
+
+        User booker = userService.findByIdOrThrow(userId);
+        // Locked before the version bump below, which does not refresh an item read without the lock.
+        Long itemId = requestDto.getItemId();
+        Item item = itemRepository.findForUpdateById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " not found"));
+
+        validateItem(item, userId);
+        // The index only knows approvals of this instance, so an interval it sees as free is checked
+        // against the database as well.
+        if (bookingIntervalIndex.overlaps(item.getId(), requestDto.getStart(), requestDto.getEnd())
+                || bookingRepository.existsApprovedOverlap(item.getId(), requestDto.getStart(), requestDto.getEnd())) {
             throw new BadRequestException("Item is already booked for the selected dates");
         }
 
         Booking booking = new Booking();
         bookingMapper.fromCreateDto(requestDto, booking, item, booker);
+        itemService.bumpVersion(List.of(item.getId()));
         Booking savedBooking = bookingRepository.save(booking);
+        evictOwnerSummary(item.getOwnerId());
 
         return bookingMapper.toDto(savedBooking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> createBatch(Long userId, List<CreateBookingRequestDto> requestDtos) {
+        if (requestDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch cannot contain more than " + MAX_BATCH_SIZE + " bookings");
+        }
+        User booker = userService.findByIdOrThrow(userId);
+        Set<Long> itemIds = requestDtos.stream()
+                .filter(Objects::nonNull)
+                .map(CreateBookingRequestDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // Locked up front, so the version bump below does not work on a state read before the lock.
+        Map<Long, Item> items = new HashMap<>();
+        if (!itemIds.isEmpty()) {
+            itemRepository.findAllForUpdateByIdIn(itemIds).forEach(item -> items.put(item.getId(), item));
+        }
+
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> approvedByItem = approvedIntervals(items.keySet(), requestDtos);
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[requestDtos.size()];
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> acceptedByItem = new HashMap<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < requestDtos.size(); i++) {
+            CreateBookingRequestDto requestDto = requestDtos.get(i);
+            try {
+                if (requestDto == null) {
+                    throw new BadRequestException("Booking must be provided");
+                }
+                validateDates(requestDto);
+                Item item = items.get(requestDto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException("Item with id " + requestDto.getItemId() + " not found");
+                }
+                validateItem(item, userId);
+
+                TreeMap<LocalDateTime, LocalDateTime> accepted =
+                        acceptedByItem.computeIfAbsent(item.getId(), id -> new TreeMap<>());
+                if (overlaps(accepted, requestDto.getStart(), requestDto.getEnd())) {
+                    throw new BadRequestException("Booking overlaps another booking of the batch");
+                }
+                if (bookingIntervalIndex.overlaps(item.getId(), requestDto.getStart(), requestDto.getEnd())
+                        || overlaps(approvedByItem.get(item.getId()), requestDto.getStart(), requestDto.getEnd())) {
+                    throw new BadRequestException("Item is already booked for the selected dates");
+                }
+                accepted.put(requestDto.getStart(), requestDto.getEnd());
+
+                Booking booking = new Booking();
+                bookingMapper.fromCreateDto(requestDto, booking, item, booker);
+                bookings.add(booking);
+                positions.add(i);
+            } catch (BadRequestException | NotFoundException | BookingOwnItemException e) {
+                results[i] = new BookingBatchResultDto(i, null, e.getMessage());
+            }
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        itemService.bumpVersion(saved.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+        saved.stream()
+                .map(booking -> booking.getItem().getOwnerId())
+                .distinct()
+                .forEach(this::evictOwnerSummary);
+        for (int i = 0; i < saved.size(); i++) {
+            int position = positions.get(i);
+            results[position] = new BookingBatchResultDto(position, bookingMapper.toDto(saved.get(i)), null);
+        }
+        return Arrays.asList(results);
+    }
+
     @Override
     @Transactional
     public BookingDto approve(Long userId, Long bookingId, Boolean approved) {
@@ -95,7 +195,14 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingAlreadyProcessedException("Booking already processed");
         }
 
+        if (approved) {
+            reserve(booking);
+            evictAvailability(booking.getItem().getId());
+        }
+
         bookingMapper.updateStatus(approved, booking);
+        bookingOutbox.record(booking, approved ? BookingEventType.APPROVED : BookingEventType.REJECTED);
+        evictOwnerSummary(booking.getItem().getOwnerId());
         return bookingMapper.toDto(bookingRepository.save(booking));
     }
 
@@ -114,12 +221,18 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(BookingStatus.CANCELED);
+        bookingIntervalIndex.release(booking.getItem().getId(), booking.getId());
+        bookingOutbox.record(booking, BookingEventType.CANCELED);
+        evictAvailability(booking.getItem().getId());
+        evictOwnerSummary(booking.getItem().getOwnerId());
         return bookingMapper.toDto(bookingRepository.save(booking));
     }
 
     @Override
     public BookingDto getById(Long userId, Long bookingId) {
-        Booking booking = findByIdOrThrow(bookingId);
+        Booking booking = bookingRepository.findById(bookingId)
+                .or(() -> archivedBookingRepository.findById(bookingId).map(ArchivedBooking::toBooking))
+                .orElseThrow(() -> new NotFoundException("Booking with id " + bookingId + " not found"));
 
         if (!booking.getBooker().getId().equals(userId) &&
                 !booking.getItem().getOwnerId().equals(userId)) {
@@ -130,40 +243,65 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllByUser(Long userId, String stateParam) {
+    public KeysetPage<BookingDto> getAllByUser(Long userId, String stateParam,
+                                               Integer from, Integer size, String cursorParam) {
         userService.findByIdOrThrow(userId);
 
         BookingState state = BookingState.fromString(stateParam);
         LocalDateTime now = LocalDateTime.now();
+        KeysetCursor cursor = KeysetCursor.decode(cursorParam);
+        Pageable pageable = toPageable(from, size, cursorParam);
 
         BookingStrategy strategy = strategies.stream()
                 .filter(s -> s.supports(state))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported state: " + state));
 
-        return strategy.findBookings(userId, now, state)
-                .stream()
-                .map(bookingMapper::toDto)
-                .collect(Collectors.toList());
+        List<BookingView> bookings = measure(ROLE_BOOKER, state,
+                () -> strategy.findBookings(userId, now, state, cursor, pageable));
+        return toPage(bookings, pageable);
     }
 
 
     @Override
-    public List<BookingDto> getAllByOwner(Long ownerId, String stateParam) {
+    public KeysetPage<BookingDto> getAllByOwner(Long ownerId, String stateParam,
+                                                Integer from, Integer size, String cursorParam) {
         userService.findByIdOrThrow(ownerId);
 
         BookingState state = BookingState.fromString(stateParam);
         LocalDateTime now = LocalDateTime.now();
+        KeysetCursor cursor = KeysetCursor.decode(cursorParam);
+        Pageable pageable = toPageable(from, size, cursorParam);
 
         OwnerBookingStrategy strategy = ownerStrategies.stream()
                 .filter(s -> s.supports(state))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported state: " + state));
 
-        return strategy.findBookingsByOwner(ownerId, now, state)
-                .stream()
-                .map(bookingMapper::toDto)
-                .collect(Collectors.toList());
+        List<BookingView> bookings = measure(ROLE_OWNER, state, () -> strategy.findBookingsByOwner(ownerId, now, state,
+                cursor, pageable));
+        return toPage(bookings, pageable);
+    }
+
+    @Override
+    public void exportByOwner(Long ownerId, Consumer<BookingDto> consumer) {
+        userService.findByIdOrThrow(ownerId);
+
+        try (Stream<BookingView> bookings = bookingRepository.streamByItemOwnerId(ownerId);
+             Stream<BookingView> archived = archivedBookingRepository.streamByItemOwnerId(ownerId)) {
+            BookingPages.mergeSorted(bookings.iterator(), archived.iterator(),
+                    booking -> consumer.accept(bookingMapper.toDto(booking)));
+        }
+    }
+
+    /**
+     * Booking counts of the owner, grouped by item in one query per table. Cached until a booking of
+     * one of the owner's items is created, approved, rejected or cancelled.
+     */
+    @Override
+    public BookingSummaryDto getOwnerSummary(Long ownerId) {
+        userService.findByIdOrThrow(ownerId);
+        return cacheManager.getCache(CacheNames.OWNER_BOOKING_SUMMARY).get(ownerId, () -> summarize(ownerId));
     }
 
     @Override
@@ -171,4 +309,167 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking with id " + bookingId + " not found"));
     }
-}
\ No newline at end of file
+
+    private List<BookingView> measure(String role, BookingState state, Supplier<List<BookingView>> query) {
+        StrategyMeters meters = strategyMeters.computeIfAbsent(role, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(state, key -> registerMeters(role, state));
+        List<BookingView> bookings = meters.timer().record(query);
+        meters.rows().record(bookings.size());
+        return bookings;
+    }
+
+    private StrategyMeters registerMeters(String role, BookingState state) {
+        Timer timer = Timer.builder("booking.strategy")
+                .description("Time spent loading a page of bookings through a state strategy")
+                .tag("role", role)
+                .tag("state", state.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        DistributionSummary rows = DistributionSummary.builder("booking.strategy.rows")
+                .description("Bookings returned by a state strategy")
+                .tag("role", role)
+                .tag("state", state.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new StrategyMeters(timer, rows);
+    }
+
+    private BookingSummaryDto summarize(Long ownerId) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingCounts> items = new TreeMap<>();
+        bookingRepository.countByItemOwnerId(ownerId, now)
+                .forEach(counts -> items.put(counts.itemId(), counts));
+        archivedBookingRepository.countByItemOwnerId(ownerId, now)
+                .forEach(counts -> items.merge(counts.itemId(), counts, ItemBookingCounts::plus));
+
+        Map<BookingState, Long> states = new EnumMap<>(BookingState.class);
+        for (BookingState state : BookingState.values()) {
+            states.put(state, 0L);
+        }
+        for (ItemBookingCounts counts : items.values()) {
+            states.merge(BookingState.ALL, counts.all(), Long::sum);
+            states.merge(BookingState.CURRENT, counts.current(), Long::sum);
+            states.merge(BookingState.PAST, counts.past(), Long::sum);
+            states.merge(BookingState.FUTURE, counts.future(), Long::sum);
+            states.merge(BookingState.WAITING, counts.waiting(), Long::sum);
+            states.merge(BookingState.REJECTED, counts.rejected(), Long::sum);
+        }
+        return new BookingSummaryDto(Collections.unmodifiableMap(states), List.copyOf(items.values()));
+    }
+
+    /**
+     * Approved bookings of the items that fall into the period of the batch, loaded with one query,
+     * as the interval index does not see approvals made by other instances.
+     */
+    private Map<Long, TreeMap<LocalDateTime, LocalDateTime>> approvedIntervals(Collection<Long> itemIds,
+                                                                            List<CreateBookingRequestDto> requestDtos) {
+        LocalDateTime from = requestDtos.stream()
+                .filter(Objects::nonNull)
+                .map(CreateBookingRequestDto::getStart)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        LocalDateTime to = requestDtos.stream()
+                .filter(Objects::nonNull)
+                .map(CreateBookingRequestDto::getEnd)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        if (itemIds.isEmpty() || from == null || to == null) {
+            return Collections.emptyMap();
+        }
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> approved = new HashMap<>();
+        for (Booking booking : bookingRepository.findApprovedBetween(itemIds, from, to)) {
+            approved.computeIfAbsent(booking.getItem().getId(), id -> new TreeMap<>())
+                    .put(booking.getStart(), booking.getEnd());
+        }
+        return approved;
+    }
+
+    /**
+     * Whether the interval touches one of the non-overlapping intervals keyed by their start.
+     */
+    private static boolean overlaps(TreeMap<LocalDateTime, LocalDateTime> intervals,
+                                    LocalDateTime start, LocalDateTime end) {
+        if (intervals == null) {
+            return false;
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> previous = intervals.floorEntry(end);
+        return previous != null && !previous.getValue().isBefore(start);
+    }
+
+    private void evictOwnerSummary(Long ownerId) {
+        cacheManager.getCache(CacheNames.OWNER_BOOKING_SUMMARY).evict(ownerId);
+    }
+
+    private void evictAvailability(Long itemId) {
+        cacheManager.getCache(CacheNames.ITEM_AVAILABILITY).evict(itemId);
+    }
+
+    private Pageable toPageable(Integer from, Integer size, String cursorParam) {
+        boolean firstPage = cursorParam == null || cursorParam.isBlank();
+        // Clients that ask for neither a page nor a position still get the whole list.
+        if (size == null && firstPage && from == 0) {
+            return Pageable.unpaged();
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        // A cursor already encodes the position, so the offset only applies to the first request.
+        return OffsetPageRequest.of(firstPage ? from : 0, pageSize);
+    }
+
+    private KeysetPage<BookingDto> toPage(List<BookingView> bookings, Pageable pageable) {
+        String nextCursor = null;
+        if (pageable.isPaged() && bookings.size() == pageable.getPageSize()) {
+            BookingView last = bookings.get(bookings.size() - 1);
+            nextCursor = new KeysetCursor(last.start(), last.id()).encode();
+        }
+        return new KeysetPage<>(bookings.stream()
+                .map(bookingMapper::toDto)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Approvals of one item are serialized by locking its row, which holds across application
+     * instances; the in-memory index rejects a taken interval before the database is asked.
+     */
+    private void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        itemRepository.findForUpdateById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " not found"));
+        if (!bookingIntervalIndex.tryReserve(itemId, booking.getId(), booking.getStart(), booking.getEnd())
+                || bookingRepository.existsApprovedOverlap(itemId, booking.getId(),
+                booking.getStart(), booking.getEnd())) {
+            throw new BadRequestException("Item is already booked for the selected dates");
+        }
+    }
+
+    private void validateDates(CreateBookingRequestDto requestDto) {
+        if (requestDto.getItemId() == null) {
+            throw new BadRequestException("Item id must be provided");
+        }
+        if (requestDto.getStart() == null || requestDto.getEnd() == null) {
+            throw new BadRequestException("Start and end dates must be provided");
+        }
+        if (requestDto.getStart().isAfter(requestDto.getEnd())) {
+            throw new BadRequestException("End date must be after start date");
+        }
+        if (requestDto.getStart().isEqual(requestDto.getEnd())) {
+            throw new BadRequestException("Start and end dates cannot be equal");
+        }
+        if (requestDto.getStart().isBefore(LocalDateTime.now())) {
+            throw new BadRequestException("Start date cannot be in the past");
+        }
+    }
+
+    private void validateItem(Item item, Long userId) {
+        if (!item.getAvailable()) {
+            throw new BadRequestException("Item is not available");
+        }
+        if (item.getOwnerId().equals(userId)) {
+            throw new BookingOwnItemException("Cannot book your own item");
+        }
+    }
+
+    private record StrategyMeters(Timer timer, DistributionSummary rows) {
+    }
+}
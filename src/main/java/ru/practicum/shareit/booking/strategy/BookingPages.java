@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.strategy;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Combines a page of live bookings with a page of archived ones. Both sources are read up to the end
+ * of the requested page with {@link #head(Pageable)} and merged in (start DESC, id DESC) order; an
+ * unpaged request reads and merges both sources whole.
+ */
+public final class BookingPages {
+    private static final Comparator<BookingView> NEWEST_FIRST = Comparator.comparing(BookingView::start)
+            .thenComparing(BookingView::id)
+            .reversed();
+
+    private BookingPages() {
+    }
+
+    public static Pageable head(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        return PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize());
+    }
+
+    public static List<BookingView> merge(List<BookingView> live, List<BookingView> archived, Pageable pageable) {
+        if (archived.isEmpty()) {
+            return page(live, pageable);
+        }
+        List<BookingView> merged = new ArrayList<>(live.size() + archived.size());
+        merged.addAll(live);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        return page(merged, pageable);
+    }
+
+    /**
+     * Hands bookings of two streams that are both in (start DESC, id DESC) order to the consumer in
+     * that order, holding one booking of each stream at a time.
+     */
+    public static void mergeSorted(Iterator<BookingView> live, Iterator<BookingView> archived,
+                                   Consumer<BookingView> consumer) {
+        BookingView nextLive = live.hasNext() ? live.next() : null;
+        BookingView nextArchived = archived.hasNext() ? archived.next() : null;
+        while (nextLive != null || nextArchived != null) {
+            if (nextArchived == null || nextLive != null && NEWEST_FIRST.compare(nextLive, nextArchived) <= 0) {
+                consumer.accept(nextLive);
+                nextLive = live.hasNext() ? live.next() : null;
+            } else {
+                consumer.accept(nextArchived);
+                nextArchived = archived.hasNext() ? archived.next() : null;
+            }
+        }
+    }
+
+    private static List<BookingView> page(List<BookingView> bookings, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return bookings;
+        }
+        int from = (int) Math.min(pageable.getOffset(), bookings.size());
+        int to = Math.min(from + pageable.getPageSize(), bookings.size());
+        return bookings.subList(from, to);
+    }
+}
@@ -1,11 +1,12 @@
 package ru.practicum.shareit.booking.strategy.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,9 +22,10 @@ public class CurrentBookingStrategy implements BookingStrategy {
     }
 
     @Override
-    public List<Booking> findBookings(Long userId, LocalDateTime now, BookingState state) {
-        return bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(
-                userId, now, now, Sort.by(Sort.Direction.DESC, "start"));
+    public List<BookingView> findBookings(Long userId, LocalDateTime now, BookingState state,
+                                          KeysetCursor cursor, Pageable pageable) {
+        return bookingRepository.findCurrentByBookerIdAfterCursor(
+                userId, now, cursor.timestamp(), cursor.id(), pageable);
     }
 }
 
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.booking.strategy.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.strategy.BookingPages;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,14 +17,22 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DefaultBookingStrategy implements BookingStrategy {
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     @Override
     public boolean supports(BookingState state) {
-        return true;
+        return state == BookingState.ALL;
     }
 
     @Override
-    public List<Booking> findBookings(Long userId, LocalDateTime now, BookingState state) {
-        return bookingRepository.findByBookerIdOrderByStartDesc(userId);
+    public List<BookingView> findBookings(Long userId, LocalDateTime now, BookingState state,
+                                          KeysetCursor cursor, Pageable pageable) {
+        Pageable head = BookingPages.head(pageable);
+        return BookingPages.merge(
+                bookingRepository.findByBookerIdAfterCursor(
+                        userId, cursor.timestamp(), cursor.id(), head),
+                archivedBookingRepository.findByBookerIdAfterCursor(
+                        userId, cursor.timestamp(), cursor.id(), head),
+                pageable);
     }
 }
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking.strategy.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.strategy.BookingPages;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PastBookingStrategy implements BookingStrategy {
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     @Override
     public boolean supports(BookingState state) {
@@ -21,8 +25,14 @@ public class PastBookingStrategy implements BookingStrategy {
     }
 
     @Override
-    public List<Booking> findBookings(Long userId, LocalDateTime now, BookingState state) {
-        return bookingRepository.findByBookerIdAndEndBefore(
-                userId, now, Sort.by(Sort.Direction.DESC, "start"));
+    public List<BookingView> findBookings(Long userId, LocalDateTime now, BookingState state,
+                                          KeysetCursor cursor, Pageable pageable) {
+        Pageable head = BookingPages.head(pageable);
+        return BookingPages.merge(
+                bookingRepository.findPastByBookerIdAfterCursor(
+                        userId, now, cursor.timestamp(), cursor.id(), head),
+                archivedBookingRepository.findByBookerIdAfterCursor(
+                        userId, cursor.timestamp(), cursor.id(), head),
+                pageable);
     }
 }
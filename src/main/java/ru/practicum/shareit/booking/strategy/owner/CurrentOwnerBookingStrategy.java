@@ -1,11 +1,12 @@
 package ru.practicum.shareit.booking.strategy.owner;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,8 +23,9 @@ public class CurrentOwnerBookingStrategy implements OwnerBookingStrategy {
     }
 
     @Override
-    public List<Booking> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state) {
-        return bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfter(
-                ownerId, now, now, Sort.by(Sort.Direction.DESC, "start"));
+    public List<BookingView> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state,
+                                                 KeysetCursor cursor, Pageable pageable) {
+        return bookingRepository.findCurrentByItemOwnerIdAfterCursor(
+                ownerId, now, cursor.timestamp(), cursor.id(), pageable);
     }
 }
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.booking.strategy.owner;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.strategy.BookingPages;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +18,7 @@ import java.util.List;
 public class DefaultOwnerBookingStrategy implements OwnerBookingStrategy {
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     @Override
     public boolean supports(BookingState state) {
@@ -21,7 +26,14 @@ public class DefaultOwnerBookingStrategy implements OwnerBookingStrategy {
     }
 
     @Override
-    public List<Booking> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state) {
-        return bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId);
+    public List<BookingView> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state,
+                                                 KeysetCursor cursor, Pageable pageable) {
+        Pageable head = BookingPages.head(pageable);
+        return BookingPages.merge(
+                bookingRepository.findByItemOwnerIdAfterCursor(
+                        ownerId, cursor.timestamp(), cursor.id(), head),
+                archivedBookingRepository.findByItemOwnerIdAfterCursor(
+                        ownerId, cursor.timestamp(), cursor.id(), head),
+                pageable);
     }
 }
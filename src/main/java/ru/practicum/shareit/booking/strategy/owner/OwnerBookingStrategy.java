@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.strategy.owner;
 
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,6 +11,7 @@ import java.util.List;
 public interface OwnerBookingStrategy {
     boolean supports(BookingState state);
 
-    List<Booking> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state);
+    List<BookingView> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state,
+                                          KeysetCursor cursor, Pageable pageable);
 }
 
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking.strategy.owner;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.strategy.BookingPages;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,6 +18,7 @@ import java.util.List;
 public class PastOwnerBookingStrategy implements OwnerBookingStrategy {
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     @Override
     public boolean supports(BookingState state) {
@@ -22,9 +26,15 @@ public class PastOwnerBookingStrategy implements OwnerBookingStrategy {
     }
 
     @Override
-    public List<Booking> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state) {
-        return bookingRepository.findByItemOwnerIdAndEndBefore(
-                ownerId, now, Sort.by(Sort.Direction.DESC, "start"));
+    public List<BookingView> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state,
+                                                 KeysetCursor cursor, Pageable pageable) {
+        Pageable head = BookingPages.head(pageable);
+        return BookingPages.merge(
+                bookingRepository.findPastByItemOwnerIdAfterCursor(
+                        ownerId, now, cursor.timestamp(), cursor.id(), head),
+                archivedBookingRepository.findByItemOwnerIdAfterCursor(
+                        ownerId, cursor.timestamp(), cursor.id(), head),
+                pageable);
     }
 }
 
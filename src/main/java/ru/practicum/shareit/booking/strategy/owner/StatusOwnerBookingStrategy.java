@@ -1,12 +1,15 @@
 package ru.practicum.shareit.booking.strategy.owner;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.strategy.BookingPages;
+import ru.practicum.shareit.common.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,6 +18,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StatusOwnerBookingStrategy implements OwnerBookingStrategy {
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     @Override
     public boolean supports(BookingState state) {
@@ -22,9 +26,20 @@ public class StatusOwnerBookingStrategy implements OwnerBookingStrategy {
     }
 
     @Override
-    public List<Booking> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state) {
+    public List<BookingView> findBookingsByOwner(Long ownerId, LocalDateTime now, BookingState state,
+                                                 KeysetCursor cursor, Pageable pageable) {
         BookingStatus status = BookingStatus.valueOf(state.name());
-        return bookingRepository.findByItemOwnerIdAndStatus(ownerId, status, Sort.by(Sort.Direction.DESC, "start"));
+        if (status == BookingStatus.WAITING) {
+            return bookingRepository.findByItemOwnerIdAndStatusAfterCursor(
+                    ownerId, status, cursor.timestamp(), cursor.id(), pageable);
+        }
+        Pageable head = BookingPages.head(pageable);
+        return BookingPages.merge(
+                bookingRepository.findByItemOwnerIdAndStatusAfterCursor(
+                        ownerId, status, cursor.timestamp(), cursor.id(), head),
+                archivedBookingRepository.findByItemOwnerIdAndStatusAfterCursor(
+                        ownerId, status, cursor.timestamp(), cursor.id(), head),
+                pageable);
     }
 }
 
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.common;
+
+public final class CacheNames {
+    private CacheNames() {
+    }
+
+    public static final String ITEM_AVAILABILITY = "itemAvailability";
+    public static final String ITEM_COMMENTS = "itemComments";
+    public static final String OWNER_BOOKING_SUMMARY = "ownerBookingSummary";
+}
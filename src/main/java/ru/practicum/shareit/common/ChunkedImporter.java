@@ -0,0 +1,87 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Reads newline-delimited JSON records from a request body one at a time and passes them to a
+ * writer in chunks of {@code shareit.import.chunk-size}, each chunk in its own transaction. The
+ * persistence context is flushed and cleared after every chunk, so memory use does not grow with
+ * the size of the import. Chunks committed before an invalid record stay committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedImporter {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ImportProperties properties;
+
+    public <T> ImportResult importRecords(InputStream body, Class<T> type, Consumer<List<T>> writer) {
+        List<T> chunk = new ArrayList<>(properties.chunkSize());
+        long imported = 0;
+        int chunks = 0;
+        try (MappingIterator<T> records = objectMapper.readerFor(type).readValues(body)) {
+            while (records.hasNextValue()) {
+                T row = records.nextValue();
+                validate(row, imported + chunk.size() + 1, imported);
+                chunk.add(row);
+                if (chunk.size() == properties.chunkSize()) {
+                    write(chunk, writer);
+                    imported += chunk.size();
+                    chunks++;
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Record " + (imported + chunk.size() + 1) + " is not valid JSON: "
+                    + e.getOriginalMessage() + "; " + imported + " records imported");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, writer);
+            imported += chunk.size();
+            chunks++;
+        }
+        log.info("Imported {} {} records in {} chunks", imported, type.getSimpleName(), chunks);
+        return new ImportResult(imported, chunks);
+    }
+
+    private <T> void validate(T row, long number, long imported) {
+        Set<ConstraintViolation<T>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException("Record " + number + " is not valid: " + violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")) + "; " + imported + " records imported");
+        }
+    }
+
+    private <T> void write(List<T> chunk, Consumer<List<T>> writer) {
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.accept(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bulk imports commit every {@code chunkSize} records in a transaction of their own.
+ */
+@ConfigurationProperties(prefix = "shareit.import")
+public record ImportProperties(@DefaultValue("1000") int chunkSize) {
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.common;
+
+public record ImportResult(long imported, int chunks) {
+}
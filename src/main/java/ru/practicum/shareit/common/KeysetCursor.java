@@ -0,0 +1,41 @@
+package ru.practicum.shareit.common;
+
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a list ordered by (timestamp DESC, id DESC).
+ * The first page starts from a sentinel that sorts after every stored row.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+    private static final KeysetCursor START =
+            new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor start() {
+        return START;
+    }
+
+    public static KeysetCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
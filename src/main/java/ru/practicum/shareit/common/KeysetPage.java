@@ -0,0 +1,6 @@
+package ru.practicum.shareit.common;
+
+import java.util.List;
+
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.common.CacheNames;
+
+import java.time.Duration;
+
+/**
+ * Caffeine caches configured through {@code spring.cache.*}. Puts and evictions issued inside a
+ * transaction are applied after commit, so a concurrent reader cannot cache a row that is about
+ * to change. Owner booking summaries also expire after {@code shareit.booking.summary-ttl}, since
+ * their current, past and future counts shift with time alone.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties,
+                                     @Value("${shareit.booking.summary-ttl:PT1M}") Duration summaryTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(properties.getCaffeine().getSpec());
+        cacheManager.setCacheNames(properties.getCacheNames());
+        cacheManager.registerCustomCache(CacheNames.OWNER_BOOKING_SUMMARY, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(summaryTtl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
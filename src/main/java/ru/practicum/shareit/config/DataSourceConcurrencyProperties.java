@@ -0,0 +1,15 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limit on connections handed out by the datasource at the same time; {@code 0} disables it.
+ */
+@ConfigurationProperties(prefix = "shareit.datasource")
+public record DataSourceConcurrencyProperties(
+        @DefaultValue("0") int maxConcurrency,
+        @DefaultValue("30s") Duration acquireTimeout) {
+}
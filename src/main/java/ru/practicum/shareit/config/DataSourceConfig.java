@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link ConcurrencyLimitingDataSource} in front of the pool when
+ * {@code shareit.datasource.max-concurrency} is set. Meant to be paired with
+ * {@code spring.threads.virtual.enabled=true}, where the number of request threads is unbounded.
+ */
+@Configuration
+public class DataSourceConfig {
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                DataSourceConcurrencyProperties properties = Binder.get(environment)
+                        .bindOrCreate("shareit.datasource", DataSourceConcurrencyProperties.class);
+                if (properties.maxConcurrency() <= 0) {
+                    return bean;
+                }
+                return new ConcurrencyLimitingDataSource(dataSource, properties.maxConcurrency(),
+                        properties.acquireTimeout());
+            }
+        };
+    }
+}
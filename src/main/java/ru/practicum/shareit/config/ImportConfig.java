@@ -0,0 +1,10 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.common.ImportProperties;
+
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportConfig {
+}
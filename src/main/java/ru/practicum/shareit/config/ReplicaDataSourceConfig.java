@@ -0,0 +1,52 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Replaces the single pool with primary/replica routing as soon as
+ * {@code shareit.datasource.replicas[0].url} is set. The primary keeps using {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.datasource.replicas[0]", name = "url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaProperties properties) {
+        List<DataSource> replicas = properties.replicas().stream()
+                .map(replica -> (DataSource) DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(replica.url())
+                        .username(replica.username())
+                        .password(replica.password())
+                        .driverClassName(replica.driverClassName())
+                        .build())
+                .toList();
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean(DataSourceConfig.DATA_SOURCE_BEAN)
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
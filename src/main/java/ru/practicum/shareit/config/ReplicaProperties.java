@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas under {@code shareit.datasource.replicas[n]}; read-only transactions are spread over
+ * the healthy ones.
+ */
+@ConfigurationProperties(prefix = "shareit.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("PT5S") Duration replicaHealthCheckInterval) {
+
+    public record Replica(String url, String username, String password, String driverClassName) {
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas in round-robin order and everything else to the
+ * primary. Replicas failing {@link #checkHealth()} are skipped until they pass again; with none
+ * healthy, reads go to the primary as well. The transaction is only marked read-only after the
+ * connection would normally be taken, so this data source has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Set<String> unhealthy = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            this.replicas.put(key, replicas.get(i));
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicaKeys.size(); attempt++) {
+            String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+            if (!unhealthy.contains(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.replica-health-check-interval:PT5S}")
+    public void checkHealth() {
+        replicas.forEach((key, replica) -> {
+            boolean healthy = isValid(replica);
+            if (healthy && unhealthy.remove(key)) {
+                log.info("Replica {} is back, routing reads to it again", key);
+            } else if (!healthy && unhealthy.add(key)) {
+                log.warn("Replica {} failed its health check, routing reads elsewhere", key);
+            }
+        });
+    }
+
+    private static boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.booking.archive.ArchiveProperties;
+import ru.practicum.shareit.booking.outbox.OutboxProperties;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ArchiveProperties.class, OutboxProperties.class})
+public class SchedulingConfig {
+}
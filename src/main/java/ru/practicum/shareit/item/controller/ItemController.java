@@ -1,17 +1,34 @@
 package ru.practicum.shareit.item.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.ImportResult;
+import ru.practicum.shareit.common.KeysetPage;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.common.HttpHeadersConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.constants.Headers.NEXT_CURSOR_HEADER;
 
 
+@Validated
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -25,6 +42,12 @@ public class ItemController {
 
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResult importItems(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                    HttpServletRequest request) throws IOException {
+        return itemService.importItems(request.getInputStream(), ownerId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto editingItem(@RequestHeader(USER_ID_HEADER) Long ownerId,
                                @PathVariable Long itemId,
@@ -33,14 +56,31 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto getItemById(@PathVariable Long itemId, @RequestHeader(USER_ID_HEADER) Long userId) {
+    public ItemDto getItemById(@PathVariable Long itemId, @RequestHeader(USER_ID_HEADER) Long userId,
+                               WebRequest request) {
+        String etag = itemService.getItemETag(itemId, userId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         return itemService.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<TimeSlotDto> getAvailability(@PathVariable Long itemId,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam("text") String text) {
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam("text") String text,
+                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                     @RequestParam(defaultValue = "10") @Positive
+                                     @Max(ItemSearchIndex.MAX_PAGE_SIZE) Integer size) {
+        // Not answered with 304: results come from the index of this instance, which no shared value tags.
+        return itemService.searchItems(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -50,6 +90,19 @@ public class ItemController {
         return itemService.addComment(userId, itemId, commentDto);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(defaultValue = "10") @Positive
+                                                        @Max(ItemService.MAX_COMMENTS_PAGE_SIZE) Integer size,
+                                                        @RequestParam(required = false) String cursor) {
+        KeysetPage<CommentDto> page = itemService.getComments(itemId, size, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
     @GetMapping
     public List<ItemDto> getAllItemsByOwner(@RequestHeader(USER_ID_HEADER) Long userId) {
         return itemService.getAllByOwner(userId);
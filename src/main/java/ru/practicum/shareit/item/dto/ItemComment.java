@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comment together with the item it belongs to, for reads that load comments of several items at once.
+ */
+public record ItemComment(Long itemId, Long id, String text, String authorName, LocalDateTime created) {
+
+    public CommentDto toCommentDto() {
+        return new CommentDto(id, text, authorName, created);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Number of comments of one item, selected with a constructor expression over a {@code GROUP BY} of the item.
+ */
+public record ItemCommentCount(Long itemId, Long count) {
+}
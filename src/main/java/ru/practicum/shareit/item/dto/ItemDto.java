@@ -20,6 +20,8 @@ public class ItemDto {
     private BookingInfo lastBooking;
     private BookingInfo nextBooking;
     private List<CommentDto> comments;
+    private Long commentsCount;
+    private Long requestId;
 
     @Data
     @NoArgsConstructor
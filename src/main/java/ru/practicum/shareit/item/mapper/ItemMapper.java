@@ -12,29 +12,41 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface ItemMapper {
 
+    @Mapping(target = "requestId", source = "request.id")
     ItemDto toItemDto(Item item);
 
     @Mapping(target = "ownerId", source = "ownerId")
+    @Mapping(target = "request", ignore = true)
     Item toItem(ItemDto dto, Long ownerId);
 
+    /**
+     * New item for an import; an id sent by the client is ignored, so saving never overwrites an existing item.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "ownerId", source = "ownerId")
+    @Mapping(target = "request", ignore = true)
+    Item toNewItem(ItemDto dto, Long ownerId);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "request", ignore = true)
     void updateItemFromDto(ItemDto dto, @MappingTarget Item item);
 
-    @Mapping(target = "lastBooking", expression = "java(mapBookingInfo(lastBookings))")
-    @Mapping(target = "nextBooking", expression = "java(mapBookingInfo(nextBookings))")
+    @Mapping(target = "id", source = "item.id")
+    @Mapping(target = "lastBooking", expression = "java(mapBookingInfo(lastBooking))")
+    @Mapping(target = "nextBooking", expression = "java(mapBookingInfo(nextBooking))")
     @Mapping(target = "comments", source = "comments")
+    @Mapping(target = "requestId", source = "item.request.id")
     ItemDto toDtoWithBookings(
             Item item,
-            @Param("lastBookings") List<Booking> lastBookings,
-            @Param("nextBookings") List<Booking> nextBookings,
+            @Param("lastBooking") Booking lastBooking,
+            @Param("nextBooking") Booking nextBooking,
             List<CommentDto> comments
     );
 
-    default ItemDto.BookingInfo mapBookingInfo(List<Booking> bookings) {
-        if (bookings == null || bookings.isEmpty()) {
+    default ItemDto.BookingInfo mapBookingInfo(Booking booking) {
+        if (booking == null) {
             return null;
         }
-        Booking booking = bookings.get(0); // берем первый после сортировки
         return new ItemDto.BookingInfo(booking.getId(), booking.getBooker().getId());
     }
 }
@@ -1,12 +1,44 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemComment;
+import ru.practicum.shareit.item.dto.ItemCommentCount;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id = :itemId " +
+            "AND (c.created < :cursorCreated OR (c.created = :cursorCreated AND c.id < :cursorId)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findByItemIdAfterCursor(@Param("itemId") Long itemId,
+                                             @Param("cursorCreated") LocalDateTime cursorCreated,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    long countByItemId(Long itemId);
+
+    /**
+     * Up to {@code limit} newest comments of every item, ranked per item in one window query.
+     */
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemComment(r.itemId, r.id, r.text, r.authorName, r.created) " +
+            "FROM (SELECT c.item.id AS itemId, c.id AS id, c.text AS text, a.name AS authorName, " +
+            "c.created AS created, ROW_NUMBER() OVER (PARTITION BY c.item.id ORDER BY c.created DESC, c.id DESC) AS rn " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds) r " +
+            "WHERE r.rn <= :limit ORDER BY r.itemId, r.created DESC, r.id DESC")
+    List<ItemComment> findNewestByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("limit") long limit);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemCommentCount(c.item.id, COUNT(c)) " +
+            "FROM Comment c WHERE c.item.id IN :itemIds GROUP BY c.item.id")
+    List<ItemCommentCount> countByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+}
@@ -1,19 +1,31 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerId(Long ownerId);
+    List<Item> findByOwnerIdOrderById(Long ownerId);
 
-    @Query("SELECT i FROM Item i " +
-            "WHERE i.available = TRUE " +
-            "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableByText(@Param("text") String text);
+    List<Item> findByAvailableTrue();
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findForUpdateById(@Param("id") Long id);
+
+    @Query("SELECT new ru.practicum.shareit.request.dto.ItemAnswerDto(i.id, i.name, i.ownerId, i.request.id) "
+            + "FROM Item i WHERE i.request.id IN :requestIds ORDER BY i.id")
+    List<ItemAnswerDto> findAnswersByRequestIds(@Param("requestIds") Collection<Long> requestIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,214 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory n-gram index over name and description of available items.
+ * Every 1-, 2- and 3-character substring is indexed, so queries of up to three characters
+ * are answered by a single posting list and longer ones by intersecting their trigrams and
+ * checking the candidates, which keeps the case-insensitive {@code LIKE '%text%'} semantics.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex implements SmartInitializingSingleton {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int NO_MATCH = -1;
+    private static final Comparator<RankedItem> BEST_FIRST = Comparator.comparingInt(RankedItem::rank)
+            .reversed()
+            .thenComparing(RankedItem::id);
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        documents.clear();
+        postings.clear();
+        itemRepository.findByAvailableTrue().forEach(this::apply);
+        log.info("Item search index built: {} items, {} grams", documents.size(), postings.size());
+    }
+
+    /**
+     * Brings the entry of the item in line with its saved state. Inside a transaction the change
+     * is applied after commit, so a rolled back edit never becomes searchable.
+     */
+    public void index(Item item) {
+        ItemSnapshot snapshot = new ItemSnapshot(item.getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(snapshot);
+                }
+            });
+        } else {
+            apply(snapshot);
+        }
+    }
+
+    /**
+     * Returns ids of matching items, most relevant first: a match in the name ranks above a match
+     * in the description only, and a match of whole words above one inside a word. Items of equal
+     * rank are ordered by id. While scanning the candidates only the best {@code from + size} are
+     * kept in a bounded heap, so ranking does not sort every match.
+     */
+    public List<Long> search(String text, int from, int size) {
+        String query = normalize(text);
+        if (query.isEmpty() || size <= 0 || from >= documents.size()) {
+            return Collections.emptyList();
+        }
+        int limit = from + Math.min(size, MAX_PAGE_SIZE);
+
+        // Head of the queue is the worst of the kept matches.
+        PriorityQueue<RankedItem> top = new PriorityQueue<>(BEST_FIRST.reversed());
+        for (Long id : candidates(query)) {
+            IndexedItem document = documents.get(id);
+            int rank = document == null ? NO_MATCH : document.rank(query);
+            if (rank == NO_MATCH) {
+                continue;
+            }
+            RankedItem item = new RankedItem(id, rank);
+            if (top.size() < limit) {
+                top.add(item);
+            } else if (BEST_FIRST.compare(item, top.peek()) < 0) {
+                top.poll();
+                top.add(item);
+            }
+        }
+        if (top.size() <= from) {
+            return Collections.emptyList();
+        }
+
+        List<RankedItem> best = new ArrayList<>(top);
+        best.sort(BEST_FIRST);
+        return best.subList(from, best.size()).stream()
+                .map(RankedItem::id)
+                .collect(Collectors.toList());
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() <= GRAM_LENGTH) {
+            return postings.getOrDefault(query, Collections.emptySet());
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query, GRAM_LENGTH, GRAM_LENGTH)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void apply(Item item) {
+        apply(new ItemSnapshot(item.getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable())));
+    }
+
+    private synchronized void apply(ItemSnapshot item) {
+        IndexedItem previous = documents.remove(item.id());
+        if (previous != null) {
+            for (String gram : previous.grams()) {
+                postings.computeIfPresent(gram, (key, ids) -> {
+                    ids.remove(item.id());
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+        if (!item.available()) {
+            return;
+        }
+
+        IndexedItem document = new IndexedItem(normalize(item.name()), normalize(item.description()));
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(item.id());
+        }
+        documents.put(item.id(), document);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value, int minLength, int maxLength) {
+        Set<String> grams = new HashSet<>();
+        for (int length = minLength; length <= maxLength; length++) {
+            for (int i = 0; i + length <= value.length(); i++) {
+                grams.add(value.substring(i, i + length));
+            }
+        }
+        return grams;
+    }
+
+    private static boolean containsWord(String value, String query) {
+        for (int start = value.indexOf(query); start >= 0; start = value.indexOf(query, start + 1)) {
+            int end = start + query.length();
+            if ((start == 0 || !Character.isLetterOrDigit(value.charAt(start - 1)))
+                    && (end == value.length() || !Character.isLetterOrDigit(value.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record ItemSnapshot(Long id, String name, String description, boolean available) {
+    }
+
+    private record RankedItem(Long id, int rank) {
+    }
+
+    private record IndexedItem(String name, String description) {
+        int rank(String query) {
+            if (name.contains(query)) {
+                return containsWord(name, query) ? 3 : 2;
+            }
+            if (description.contains(query)) {
+                return containsWord(description, query) ? 1 : 0;
+            }
+            return NO_MATCH;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(name, 1, GRAM_LENGTH);
+            grams.addAll(ItemSearchIndex.grams(description, 1, GRAM_LENGTH));
+            return grams;
+        }
+    }
+}
@@ -1,24 +1,42 @@
 package ru.practicum.shareit.item.service;
 
 
+import ru.practicum.shareit.common.ImportResult;
+import ru.practicum.shareit.common.KeysetPage;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
+    int MAX_COMMENTS_PAGE_SIZE = 100;
+
     ItemDto addItem(ItemDto itemDto, Long ownerId);
 
     ItemDto editingItem(Long itemId, ItemDto itemDto, Long ownerId);
 
+    ImportResult importItems(InputStream body, Long ownerId);
+
     ItemDto getItemById(Long itemId, Long userId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> searchItems(String text, Integer from, Integer size);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 
+    KeysetPage<CommentDto> getComments(Long itemId, Integer size, String cursor);
+
     List<ItemDto> getAllByOwner(Long ownerId);
 
+    List<TimeSlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    String getItemETag(Long itemId, Long userId);
+
+    void bumpVersion(Collection<Long> itemIds);
+
     Item findByIdOrThrow(Long itemId);
 }
@@ -1,30 +1,57 @@
 package ru.practicum.shareit.item.service;
 
 import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.CacheNames;
+import ru.practicum.shareit.common.ChunkedImporter;
+import ru.practicum.shareit.common.ImportResult;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
+import ru.practicum.shareit.common.SingleFlight;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnauthorizedActionException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemComment;
+import ru.practicum.shareit.item.dto.ItemCommentCount;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -33,72 +60,181 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional
 public class ItemServiceImp implements ItemService {
+    private static final int COMMENTS_PAGE_SIZE = 10;
 
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final UserService userService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemRequestRepository itemRequestRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ChunkedImporter chunkedImporter;
+    private final SingleFlight<ItemLookup, ItemDto> itemLookups = new SingleFlight<>();
+    private final Map<String, Counter> collapsedLookups = new ConcurrentHashMap<>();
 
     @Override
     @Transactional
     public ItemDto addItem(ItemDto itemDto, Long ownerId) {
         User owner = userService.findByIdOrThrow(ownerId);
         Item item = itemMapper.toItem(itemDto, ownerId);
+        if (itemDto.getRequestId() != null) {
+            item.setRequest(itemRequestRepository.findById(itemDto.getRequestId())
+                    .orElseThrow(() -> new NotFoundException("Request with id " + itemDto.getRequestId()
+                            + " not found")));
+        }
         Item saved = itemRepository.save(item);
+        itemSearchIndex.index(saved);
         return itemMapper.toItemDto(saved);
     }
 
     @Override
     @Transactional
     public ItemDto editingItem(Long itemId, ItemDto itemDto, Long ownerId) {
-        Item existingItem = findByIdOrThrow(itemId);
+        Item existingItem = findForUpdateOrThrow(itemId);
         if (!existingItem.getOwnerId().equals(ownerId)) {
             throw new UnauthorizedActionException("Редактировать может только владелец");
         }
 
         itemMapper.updateItemFromDto(itemDto, existingItem);
+        existingItem.setVersion(existingItem.getVersion() + 1);
         Item updated = itemRepository.save(existingItem);
+        itemSearchIndex.index(updated);
         return itemMapper.toItemDto(updated);
     }
 
+    /**
+     * Imports items of the owner from newline-delimited JSON. Requests referenced by a chunk are
+     * loaded with one query, and the chunk is inserted in JDBC batches. Runs outside a transaction,
+     * as every chunk commits on its own.
+     */
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ImportResult importItems(InputStream body, Long ownerId) {
+        userService.findByIdOrThrow(ownerId);
+        return chunkedImporter.importRecords(body, ItemDto.class, chunk -> {
+            Set<Long> requestIds = chunk.stream()
+                    .map(ItemDto::getRequestId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                    .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+            List<Item> items = new ArrayList<>(chunk.size());
+            for (ItemDto itemDto : chunk) {
+                Item item = itemMapper.toNewItem(itemDto, ownerId);
+                if (itemDto.getRequestId() != null) {
+                    item.setRequest(requests.get(itemDto.getRequestId()));
+                    if (item.getRequest() == null) {
+                        throw new NotFoundException("Request with id " + itemDto.getRequestId() + " not found");
+                    }
+                }
+                items.add(item);
+            }
+            itemRepository.saveAll(items).forEach(itemSearchIndex::index);
+        });
+    }
+
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public ItemDto getItemById(Long itemId, Long userId) {
         Item item = findByIdOrThrow(itemId);
-        List<Booking> lastBookings = null;
-        List<Booking> nextBookings = null;
+        boolean ownerView = item.getOwnerId().equals(userId);
+        // Concurrent views of one item share a single assembly; the owner view differs per owner.
+        // Waiting callers hold no transaction, so they do not pin connections the leader needs.
+        ItemLookup lookup = new ItemLookup(itemId, ownerView ? userId : null);
+        return itemLookups.execute(lookup,
+                () -> transactionTemplate.execute(status -> assembleItem(item, ownerView)),
+                () -> collapsedLookups.computeIfAbsent(ownerView ? "owner" : "guest", this::registerCollapsedLookups)
+                        .increment());
+    }
+
+    private Counter registerCollapsedLookups(String view) {
+        return Counter.builder("item.lookup.collapsed")
+                .description("Item views served by an assembly already in flight")
+                .tag("view", view)
+                .register(meterRegistry);
+    }
 
+    private ItemDto assembleItem(Item item, boolean ownerView) {
+        Long itemId = item.getId();
+        Booking lastBooking = null;
+        Booking nextBooking = null;
 
-        if (item.getOwnerId().equals(userId)) {
+        if (ownerView) {
             LocalDateTime now = LocalDateTime.now();
-            lastBookings = bookingRepository.findByItemIdAndEndBefore(
-                    itemId, now, Sort.by(Sort.Direction.DESC, "start"));
-            nextBookings = bookingRepository.findByItemIdAndStartAfter(
-                    itemId, now, Sort.by(Sort.Direction.ASC, "start"));
+            lastBooking = bookingRepository.findFirstByItemIdAndEndBeforeOrderByStartDescIdDesc(itemId, now)
+                    .or(() -> archivedBookingRepository.findFirstByItemIdOrderByStartDescIdDesc(itemId)
+                            .map(ArchivedBooking::toBooking))
+                    .orElse(null);
+            nextBooking = bookingRepository.findFirstByItemIdAndStartAfterOrderByStartAscIdDesc(itemId, now)
+                    .orElse(null);
         }
 
-        List<CommentDto> comments = commentRepository.findByItemId(itemId).stream()
-                .map(commentMapper::toDto)
-                .collect(Collectors.toList());
+        NewestComments comments = newestComments(itemId);
 
-        return itemMapper.toDtoWithBookings(item, lastBookings, nextBookings, comments);
+        ItemDto itemDto = itemMapper.toDtoWithBookings(item, lastBooking, nextBooking, comments.page().content());
+        itemDto.setCommentsCount(comments.count());
+        return itemDto;
     }
 
     @Override
     public List<ItemDto> getAllByOwner(Long ownerId) {
-        return itemRepository.findByOwnerId(ownerId).stream()
-                .map(itemMapper::toItemDto)
+        List<Item> items = itemRepository.findByOwnerIdOrderById(ownerId);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = new HashMap<>(
+                groupByItemId(bookingRepository.findLastByItemIds(itemIds, now)));
+        List<Long> withoutLastBooking = itemIds.stream()
+                .filter(id -> !lastBookings.containsKey(id))
+                .collect(Collectors.toList());
+        if (!withoutLastBooking.isEmpty()) {
+            lastBookings.putAll(groupByItemId(archivedBookingRepository.findLastByItemIds(withoutLastBooking)
+                    .stream()
+                    .map(ArchivedBooking::toBooking)
+                    .collect(Collectors.toList())));
+        }
+        Map<Long, Booking> nextBookings = groupByItemId(bookingRepository.findNextByItemIds(itemIds, now));
+        Map<Long, NewestComments> comments = newestComments(itemIds);
+
+        return items.stream()
+                .map(item -> {
+                    NewestComments itemComments = comments.get(item.getId());
+                    long commentCount = itemComments == null ? 0 : itemComments.count();
+                    ItemDto itemDto = itemMapper.toDtoWithBookings(item,
+                            lastBookings.get(item.getId()),
+                            nextBookings.get(item.getId()),
+                            itemComments == null ? Collections.emptyList() : itemComments.page().content());
+                    itemDto.setCommentsCount(commentCount);
+                    return itemDto;
+                })
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
+    public List<ItemDto> searchItems(String text, Integer from, Integer size) {
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.searchAvailableByText(text).stream()
+        List<Long> itemIds = itemSearchIndex.search(text, from, size);
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -106,26 +242,187 @@ public class ItemServiceImp implements ItemService {
     @Override
     @Transactional
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
-        User author = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        Item item = findByIdOrThrow(itemId);
+        User author = userService.findByIdOrThrow(userId);
+        Item item = findForUpdateOrThrow(itemId);
 
         boolean hasBooked = bookingRepository.existsByItemIdAndBookerIdAndEndBefore(
-                itemId, userId, LocalDateTime.now());
+                itemId, userId, LocalDateTime.now())
+                || archivedBookingRepository.existsByItemIdAndBookerId(itemId, userId);
 
         if (!hasBooked) {
             throw new BadRequestException("User has not booked this item");
         }
 
         Comment comment = commentMapper.fromDto(commentDto, item, author);
+        bumpVersion(List.of(itemId));
         Comment savedComment = commentRepository.save(comment);
+        cacheManager.getCache(CacheNames.ITEM_COMMENTS).evict(itemId);
         return commentMapper.toDto(savedComment);
     }
 
+    @Override
+    public KeysetPage<CommentDto> getComments(Long itemId, Integer size, String cursorParam) {
+        findByIdOrThrow(itemId);
+        if ((cursorParam == null || cursorParam.isBlank()) && size <= COMMENTS_PAGE_SIZE) {
+            List<CommentDto> newest = newestComments(itemId).page().content();
+            return toCommentPage(newest.subList(0, Math.min(size, newest.size())), size);
+        }
+
+        KeysetCursor cursor = KeysetCursor.decode(cursorParam);
+        return toCommentPage(commentRepository.findByItemIdAfterCursor(
+                itemId, cursor.timestamp(), cursor.id(), PageRequest.of(0, size)), size);
+    }
+
+    /**
+     * Free intervals of the item within {@code [from, to)}, found in one pass over its approved
+     * bookings ordered by start. The bookings of an item are cached until one of them is approved
+     * or cancelled.
+     */
+    @Override
+    public List<TimeSlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Start of the period must be before its end");
+        }
+        findByIdOrThrow(itemId);
+
+        List<TimeSlotDto> busy = cacheManager.getCache(CacheNames.ITEM_AVAILABILITY).get(itemId,
+                () -> List.copyOf(bookingRepository.findApprovedSlotsByItemId(itemId, now)));
+
+        List<TimeSlotDto> free = new ArrayList<>();
+        LocalDateTime cursor = from.isBefore(now) ? now : from;
+        for (TimeSlotDto booking : busy) {
+            if (!cursor.isBefore(to) || !booking.getStart().isBefore(to)) {
+                break;
+            }
+            if (booking.getStart().isAfter(cursor)) {
+                free.add(new TimeSlotDto(cursor, booking.getStart()));
+            }
+            if (booking.getEnd().isAfter(cursor)) {
+                cursor = booking.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeSlotDto(cursor, to));
+        }
+        return free;
+    }
+
+    /**
+     * Entity tag of the item view, or {@code null} for the owner, whose view also depends on the
+     * current time through its last and next bookings.
+     */
+    @Override
+    public String getItemETag(Long itemId, Long userId) {
+        Item item = findByIdOrThrow(itemId);
+        if (item.getOwnerId().equals(userId)) {
+            return null;
+        }
+        return "\"item-" + itemId + "-" + item.getVersion() + "\"";
+    }
+
+    /**
+     * Increments the versions of the items under a row lock taken in id order. Each item is updated
+     * on its own, so the second-level cache drops only these entries; a bulk {@code UPDATE} would
+     * invalidate the whole region. Items the transaction read earlier are not refreshed, so callers
+     * that do so must read them with {@link ItemRepository#findAllForUpdateByIdIn}.
+     */
+    @Override
+    @Transactional
+    public void bumpVersion(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        itemRepository.findAllForUpdateByIdIn(itemIds)
+                .forEach(item -> item.setVersion(item.getVersion() + 1));
+    }
+
+    /**
+     * Served from the second-level cache once the item has been loaded.
+     */
     @Override
     public Item findByIdOrThrow(Long itemId) {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " not found"));
     }
-}
 
+    /**
+     * Reads the item under a row lock before its version is bumped, so a concurrent edit, comment or
+     * booking cannot lose an increment; {@link #bumpVersion} does not refresh an item read earlier.
+     */
+    private Item findForUpdateOrThrow(Long itemId) {
+        return itemRepository.findForUpdateById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " not found"));
+    }
+
+    // Bookings sharing the boundary start date are resolved to the one with the highest id.
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first.getId() > second.getId() ? first : second));
+    }
+
+    /**
+     * Newest page of comments of the item with their total count, cached until a comment is added.
+     */
+    private NewestComments newestComments(Long itemId) {
+        return cacheManager.getCache(CacheNames.ITEM_COMMENTS).get(itemId, () -> {
+            KeysetCursor start = KeysetCursor.start();
+            List<CommentDto> page = commentRepository.findByItemIdAfterCursor(
+                    itemId, start.timestamp(), start.id(), PageRequest.of(0, COMMENTS_PAGE_SIZE));
+            return new NewestComments(toCommentPage(List.copyOf(page), COMMENTS_PAGE_SIZE),
+                    commentRepository.countByItemId(itemId));
+        });
+    }
+
+    /**
+     * Newest comment pages of the items that have comments. Counts come from one grouped query, and
+     * pages missing from the cache are loaded together with one window query and cached.
+     */
+    private Map<Long, NewestComments> newestComments(List<Long> itemIds) {
+        Map<Long, Long> counts = commentRepository.countByItemIdIn(itemIds).stream()
+                .collect(Collectors.toMap(ItemCommentCount::itemId, ItemCommentCount::count));
+        Cache cache = cacheManager.getCache(CacheNames.ITEM_COMMENTS);
+        Map<Long, NewestComments> comments = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        counts.forEach((itemId, count) -> {
+            NewestComments cached = cache.get(itemId, NewestComments.class);
+            if (cached != null) {
+                comments.put(itemId, new NewestComments(cached.page(), count));
+            } else {
+                uncached.add(itemId);
+            }
+        });
+        if (uncached.isEmpty()) {
+            return comments;
+        }
+        Map<Long, List<CommentDto>> pages = commentRepository.findNewestByItemIdIn(uncached, COMMENTS_PAGE_SIZE)
+                .stream()
+                .collect(Collectors.groupingBy(ItemComment::itemId,
+                        Collectors.mapping(ItemComment::toCommentDto, Collectors.toList())));
+        for (Long itemId : uncached) {
+            NewestComments loaded = new NewestComments(toCommentPage(
+                    List.copyOf(pages.getOrDefault(itemId, Collections.emptyList())), COMMENTS_PAGE_SIZE),
+                    counts.get(itemId));
+            // Keeps a page that a concurrent single-item read has cached in the meantime.
+            cache.putIfAbsent(itemId, loaded);
+            comments.put(itemId, loaded);
+        }
+        return comments;
+    }
+
+    private KeysetPage<CommentDto> toCommentPage(List<CommentDto> comments, int size) {
+        String nextCursor = null;
+        if (comments.size() == size) {
+            CommentDto last = comments.get(comments.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        }
+        return new KeysetPage<>(comments, nextCursor);
+    }
+
+    private record ItemLookup(Long itemId, Long ownerId) {
+    }
+
+    private record NewestComments(KeysetPage<CommentDto> page, long count) {
+    }
+}
@@ -1,12 +1,48 @@
 package ru.practicum.shareit.request.controller;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import java.util.List;
+
+import static ru.practicum.shareit.common.HttpHeadersConstants.USER_ID_HEADER;
+
+@Validated
 @RestController
 @RequestMapping(path = "/requests")
+@RequiredArgsConstructor
 public class ItemRequestController {
+    private final ItemRequestService itemRequestService;
+
+    @PostMapping
+    public ItemRequestDto create(@RequestHeader(USER_ID_HEADER) Long userId,
+                                 @RequestBody @Valid ItemRequestDto dto) {
+        return itemRequestService.create(userId, dto);
+    }
+
+    @GetMapping
+    public List<ItemRequestDto> getOwn(@RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemRequestService.getOwn(userId);
+    }
+
+    @GetMapping("/all")
+    public List<ItemRequestDto> getAll(@RequestHeader(USER_ID_HEADER) Long userId,
+                                       @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                       @RequestParam(defaultValue = "10") @Positive
+                                       @Max(ItemRequestService.MAX_PAGE_SIZE) Integer size) {
+        return itemRequestService.getAll(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getById(@RequestHeader(USER_ID_HEADER) Long userId,
+                                  @PathVariable Long requestId) {
+        return itemRequestService.getById(userId, requestId);
+    }
 }
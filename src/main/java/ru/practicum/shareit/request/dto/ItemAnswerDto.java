@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item offered in response to a request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAnswerDto {
+    private Long id;
+    private String name;
+    private Long ownerId;
+    @JsonIgnore
+    private Long requestId;
+}
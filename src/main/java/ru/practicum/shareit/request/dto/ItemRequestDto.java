@@ -1,7 +1,18 @@
 package ru.practicum.shareit.request.dto;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
 public class ItemRequestDto {
+    private Long id;
+    @NotBlank(message = "Поле description не может быть пустым")
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    private String description;
+    private LocalDateTime created;
+    private List<ItemAnswerDto> items;
 }
@@ -1,4 +1,24 @@
 package ru.practicum.shareit.request.mapper;
 
-public class ItemRequestMapper {
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ItemRequestMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "requester", ignore = true)
+    @Mapping(target = "created", ignore = true)
+    ItemRequest toItemRequest(ItemRequestDto dto);
+
+    @Mapping(target = "id", source = "request.id")
+    @Mapping(target = "description", source = "request.description")
+    @Mapping(target = "created", source = "request.created")
+    @Mapping(target = "items", source = "items")
+    ItemRequestDto toDto(ItemRequest request, List<ItemAnswerDto> items);
 }
@@ -1,7 +1,28 @@
 package ru.practicum.shareit.request.model;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "item_requests", schema = "public")
+@Getter
+@Setter
+@NoArgsConstructor
 public class ItemRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "request_id")
+    private Long id;
+    @Column(nullable = false)
+    private String description;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requester_id", nullable = false)
+    private User requester;
+    @Column(nullable = false)
+    private LocalDateTime created;
 }
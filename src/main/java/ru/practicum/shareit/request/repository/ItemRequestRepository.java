@@ -1,4 +1,14 @@
 package ru.practicum.shareit.request.repository;
 
-public class ItemRequestRepository {
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    List<ItemRequest> findByRequesterIdOrderByCreatedDesc(Long requesterId);
+
+    List<ItemRequest> findByRequesterIdNotOrderByCreatedDesc(Long requesterId, Pageable pageable);
 }
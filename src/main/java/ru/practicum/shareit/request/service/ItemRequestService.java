@@ -1,4 +1,17 @@
 package ru.practicum.shareit.request.service;
 
-public class ItemRequestService {
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    int MAX_PAGE_SIZE = 100;
+
+    ItemRequestDto create(Long userId, ItemRequestDto dto);
+
+    List<ItemRequestDto> getOwn(Long userId);
+
+    List<ItemRequestDto> getAll(Long userId, Integer from, Integer size);
+
+    ItemRequestDto getById(Long userId, Long requestId);
 }
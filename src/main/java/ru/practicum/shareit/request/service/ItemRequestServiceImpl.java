@@ -0,0 +1,76 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestMapper itemRequestMapper;
+    private final UserService userService;
+
+    @Override
+    @Transactional
+    public ItemRequestDto create(Long userId, ItemRequestDto dto) {
+        ItemRequest request = itemRequestMapper.toItemRequest(dto);
+        request.setRequester(userService.findByIdOrThrow(userId));
+        request.setCreated(LocalDateTime.now());
+        return itemRequestMapper.toDto(itemRequestRepository.save(request), Collections.emptyList());
+    }
+
+    @Override
+    public List<ItemRequestDto> getOwn(Long userId) {
+        userService.findByIdOrThrow(userId);
+        return withAnswers(itemRequestRepository.findByRequesterIdOrderByCreatedDesc(userId));
+    }
+
+    @Override
+    public List<ItemRequestDto> getAll(Long userId, Integer from, Integer size) {
+        userService.findByIdOrThrow(userId);
+        return withAnswers(itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(userId,
+                OffsetPageRequest.of(from, size)));
+    }
+
+    @Override
+    public ItemRequestDto getById(Long userId, Long requestId) {
+        userService.findByIdOrThrow(userId);
+        ItemRequest request = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Request with id " + requestId + " not found"));
+        return withAnswers(List.of(request)).get(0);
+    }
+
+    private List<ItemRequestDto> withAnswers(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Items answering the whole page are fetched at once instead of once per request.
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemAnswerDto>> answers = itemRepository.findAnswersByRequestIds(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemAnswerDto::getRequestId));
+        return requests.stream()
+                .map(request -> itemRequestMapper.toDto(request,
+                        answers.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.user.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.ImportResult;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,6 +23,11 @@ public class UserController {
         return userService.addUser(userDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResult importUsers(HttpServletRequest request) throws IOException {
+        return userService.importUsers(request.getInputStream());
+    }
+
     @GetMapping("/{userId}")
     public UserDto getUserById(@PathVariable Long userId) {
         return userService.getUserById(userId);
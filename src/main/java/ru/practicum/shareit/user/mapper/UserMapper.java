@@ -2,6 +2,7 @@ package ru.practicum.shareit.user.mapper;
 
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -13,6 +14,12 @@ public interface UserMapper {
 
     User toUser(UserDto dto);
 
+    /**
+     * New user for an import; an id sent by the client is ignored, so saving never overwrites an existing user.
+     */
+    @Mapping(target = "id", ignore = true)
+    User toNewUser(UserDto dto);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateUserFromDto(UserDto dto, @MappingTarget User user);
 }
@@ -5,21 +5,29 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 
 @Entity
 @Table(name = "users", schema = "public")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity.users")
+@NaturalIdCache(region = "entity.users.email")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long id;
     @Column(nullable = false)
     private String name;
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 255)
     private String email;
 }
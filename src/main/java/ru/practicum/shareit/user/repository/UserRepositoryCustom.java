@@ -0,0 +1,9 @@
+package ru.practicum.shareit.user.repository;
+
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.user.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+/**
+ * Looks users up by email through the natural id, so a repeated lookup is answered from the
+ * second-level cache instead of a query.
+ */
+@Transactional(readOnly = true)
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.common.ImportResult;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface UserService {
@@ -16,5 +18,7 @@ public interface UserService {
 
     void deleteUser(Long userId);
 
+    ImportResult importUsers(InputStream body);
+
     User findByIdOrThrow(Long userId);
 }
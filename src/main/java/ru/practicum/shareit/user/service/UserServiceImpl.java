@@ -1,15 +1,22 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.ChunkedImporter;
+import ru.practicum.shareit.common.ImportResult;
 import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.InputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +24,8 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChunkedImporter chunkedImporter;
 
 
     @Override
@@ -34,7 +43,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto update(Long userId, UserDto userDto) {
         User existingUser = findByIdOrThrow(userId);
-        if (!existingUser.getEmail().equals(userDto.getEmail()) &&
+        if (userDto.getEmail() != null && !userDto.getEmail().equals(existingUser.getEmail()) &&
                 userRepository.findByEmail(userDto.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException("Email уже используется: " + userDto.getEmail());
         }
@@ -60,8 +69,36 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        // Items of the user are removed by ON DELETE CASCADE, which Hibernate does not see.
+        entityManagerFactory.getCache().evict(Item.class);
     }
 
+    /**
+     * Imports users from newline-delimited JSON. Emails of a chunk are checked against the database
+     * with one query, and the chunk is inserted in JDBC batches.
+     */
+    @Override
+    public ImportResult importUsers(InputStream body) {
+        return chunkedImporter.importRecords(body, UserDto.class, chunk -> {
+            Set<String> emails = new HashSet<>();
+            for (UserDto userDto : chunk) {
+                if (!emails.add(userDto.getEmail())) {
+                    throw new EmailAlreadyExistsException("Email уже используется: " + userDto.getEmail());
+                }
+            }
+            List<String> existing = userRepository.findExistingEmails(emails);
+            if (!existing.isEmpty()) {
+                throw new EmailAlreadyExistsException("Email уже используется: " + existing.get(0));
+            }
+            userRepository.saveAll(chunk.stream()
+                    .map(userMapper::toNewUser)
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    /**
+     * Served from the second-level cache once the user has been loaded.
+     */
     @Override
     public User findByIdOrThrow(Long userId) {
         return userRepository.findById(userId)
@@ -1,46 +1,78 @@
 DROP TABLE IF EXISTS comments;
+DROP TABLE IF EXISTS scheduler_locks;
+DROP TABLE IF EXISTS booking_events;
+DROP TABLE IF EXISTS bookings_archive;
 DROP TABLE IF EXISTS bookings;
 DROP TABLE IF EXISTS items;
-DROP TABLE IF EXISTS requests;
+DROP TABLE IF EXISTS item_requests;
 DROP TABLE IF EXISTS users CASCADE;
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS users_seq;
+
+-- Hibernate allocates ids from these in blocks of 50 (pooled optimizer), so INCREMENT BY must match
+-- allocationSize of the entities. Rows inserted by plain SQL take the next value through the
+-- column default and never collide with a block handed out to the application.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users (
-             user_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+             user_id BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
              name VARCHAR(40) NOT NULL,
              email VARCHAR(255) UNIQUE NOT NULL
            );
+CREATE TABLE IF NOT EXISTS item_requests (
+             request_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+             description VARCHAR(255) NOT NULL,
+             requester_id BIGINT NOT NULL,
+             created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+             CONSTRAINT fk_requester FOREIGN KEY (requester_id)
+                REFERENCES users (user_id) ON DELETE CASCADE
+);
 CREATE TABLE IF NOT EXISTS items(
-             item_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+             item_id BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
              name VARCHAR(40) NOT NULL,
              description VARCHAR(255),
              available BOOLEAN NOT NULL,
              owner_id BIGINT NOT NULL,
              request_id BIGINT,
-             CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users (user_id) ON DELETE CASCADE
+             version BIGINT NOT NULL DEFAULT 0,
+             CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users (user_id) ON DELETE CASCADE,
+             CONSTRAINT fk_item_request FOREIGN KEY (request_id)
+                REFERENCES item_requests (request_id) ON DELETE SET NULL
 );
 CREATE TABLE IF NOT EXISTS bookings (
-    booking_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    booking_id BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     item_id BIGINT NOT NULL,
     booker_id BIGINT NOT NULL,
     status VARCHAR(50) NOT NULL,
     CONSTRAINT bookings_status_check
-        CHECK (status IN ('WAITING','APPROVED','REJECTED')),
+        CHECK (status IN ('WAITING','APPROVED','REJECTED','CANCELED')),
     CONSTRAINT fk_booking_item FOREIGN KEY (item_id)
         REFERENCES items (item_id) ON DELETE CASCADE,
     CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id)
         REFERENCES users (user_id) ON DELETE CASCADE
 );
-CREATE TABLE IF NOT EXISTS item_requests (
-             request_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-             description VARCHAR(255) NOT NULL,
-             requester_id BIGINT NOT NULL,
-             CONSTRAINT fk_requester FOREIGN KEY (requester_id)
-                REFERENCES users (user_id) ON DELETE CASCADE
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    booking_id BIGINT PRIMARY KEY,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_booking_archive_item FOREIGN KEY (item_id)
+        REFERENCES items (item_id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_archive_booker FOREIGN KEY (booker_id)
+        REFERENCES users (user_id) ON DELETE CASCADE
 );
 CREATE TABLE IF NOT EXISTS comments (
-             id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+             id BIGINT DEFAULT nextval('comments_seq') NOT NULL,
              text VARCHAR(1000) NOT NULL,
              item_id BIGINT NOT NULL,
              author_id BIGINT NOT NULL,
@@ -49,14 +81,38 @@ CREATE TABLE IF NOT EXISTS comments (
              CONSTRAINT FK_COMMENT_ITEM FOREIGN KEY (item_id) REFERENCES items (item_id),
              CONSTRAINT FK_COMMENT_AUTHOR FOREIGN KEY (author_id) REFERENCES users (user_id)
 );
+CREATE TABLE IF NOT EXISTS booking_events (
+    event_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL
+);
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    lock_name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_by VARCHAR(64) NOT NULL
+);
+INSERT INTO scheduler_locks (lock_name, locked_until, locked_by)
+VALUES ('booking-archiver', TIMESTAMP '1970-01-01 00:00:00', '');
 CREATE INDEX idx_booking_booker_id ON bookings(booker_id);
 CREATE INDEX idx_booking_item_id ON bookings(item_id);
 CREATE INDEX idx_booking_start_end ON bookings(start_date, end_date);
 CREATE INDEX idx_booking_status ON bookings(status);
 CREATE INDEX idx_booking_booker_status_start ON bookings(booker_id, status, start_date);
 CREATE INDEX idx_booking_owner_start_end ON bookings(item_id, start_date, end_date);
+CREATE INDEX idx_booking_end_id ON bookings(end_date, booking_id);
+CREATE INDEX idx_booking_archive_booker_start ON bookings_archive(booker_id, start_date);
+CREATE INDEX idx_booking_archive_item_start ON bookings_archive(item_id, start_date);
+CREATE INDEX idx_booking_event_booking_id ON booking_events(booking_id, event_id);
 CREATE INDEX idx_item_owner_id ON items(owner_id);
+CREATE INDEX idx_item_request_id ON items(request_id);
+CREATE INDEX idx_item_request_requester_created ON item_requests(requester_id, created);
 CREATE INDEX idx_comment_item_id ON comments(item_id);
+CREATE INDEX idx_comment_item_created ON comments(item_id, created, id);
 CREATE INDEX idx_comment_author_id ON comments(author_id);
 
 
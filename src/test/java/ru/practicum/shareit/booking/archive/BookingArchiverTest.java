@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.KeysetPage;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"shareit.archive.after-days=30", "shareit.archive.chunk-size=2"})
+class BookingArchiverTest {
+
+    @Autowired
+    private BookingArchiver archiver;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesOldBookingsToArchiveAndKeepsThemVisible() {
+        Long ownerId = insert("INSERT INTO users (name, email) VALUES ('owner', 'archive-owner@test.ru')");
+        Long bookerId = insert("INSERT INTO users (name, email) VALUES ('booker', 'archive-booker@test.ru')");
+        Long itemId = insert("INSERT INTO items (name, description, available, owner_id) "
+                + "VALUES ('Tent', 'Tent', TRUE, " + ownerId + ")");
+        LocalDateTime now = LocalDateTime.now();
+        for (int days : new int[]{400, 300, 200, 100, 10}) {
+            jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                            + "VALUES (?, ?, ?, ?, 'APPROVED')",
+                    Timestamp.valueOf(now.minusDays(days)), Timestamp.valueOf(now.minusDays(days - 1)),
+                    itemId, bookerId);
+        }
+
+        archiver.archive();
+
+        assertEquals(4, count("SELECT COUNT(*) FROM bookings_archive WHERE item_id = " + itemId));
+        assertEquals(1, count("SELECT COUNT(*) FROM bookings WHERE item_id = " + itemId));
+
+        List<BookingDto> firstPage = bookingService.getAllByUser(bookerId, "PAST", 0, 3, null).content();
+        assertEquals(3, firstPage.size());
+        assertEquals(now.minusDays(10).withNano(0), firstPage.get(0).getStart().withNano(0));
+        String cursor = bookingService.getAllByUser(bookerId, "PAST", 0, 3, null).nextCursor();
+        assertEquals(2, bookingService.getAllByUser(bookerId, "PAST", 0, 3, cursor).content().size());
+        assertEquals(5, bookingService.getAllByOwner(ownerId, "ALL", 0, 10, null).content().size());
+        KeysetPage<BookingDto> unpaged = bookingService.getAllByUser(bookerId, "ALL", 0, null, null);
+        assertEquals(5, unpaged.content().size());
+        assertNull(unpaged.nextCursor());
+
+        assertNotNull(itemService.addComment(bookerId, itemId, new CommentDto(null, "Dry inside", null, null)));
+    }
+
+    @Test
+    void skipsRunWhileAnotherInstanceHoldsTheLeaseAndExportsNewestFirst() {
+        Long ownerId = insert("INSERT INTO users (name, email) VALUES ('owner', 'lease-owner@test.ru')");
+        Long bookerId = insert("INSERT INTO users (name, email) VALUES ('booker', 'lease-booker@test.ru')");
+        Long itemId = insert("INSERT INTO items (name, description, available, owner_id) "
+                + "VALUES ('Stove', 'Stove', TRUE, " + ownerId + ")");
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        // The waiting booking is never archived, so the live rows are older and newer than the archived one.
+        insertBooking(now.minusDays(500), itemId, bookerId, "WAITING");
+        insertBooking(now.minusDays(400), itemId, bookerId, "APPROVED");
+        insertBooking(now.minusDays(10), itemId, bookerId, "APPROVED");
+
+        jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ?, locked_by = 'other' WHERE lock_name = ?",
+                Timestamp.valueOf(now.plusHours(1)), BookingArchiver.LOCK_NAME);
+        try {
+            archiver.archive();
+            assertEquals(0, count("SELECT COUNT(*) FROM bookings_archive WHERE item_id = " + itemId));
+        } finally {
+            jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ? WHERE lock_name = ?",
+                    Timestamp.valueOf(now), BookingArchiver.LOCK_NAME);
+        }
+
+        archiver.archive();
+        assertEquals(1, count("SELECT COUNT(*) FROM bookings_archive WHERE item_id = " + itemId));
+
+        List<LocalDateTime> exported = new ArrayList<>();
+        bookingService.exportByOwner(ownerId, booking -> exported.add(booking.getStart().withNano(0)));
+        assertEquals(List.of(now.minusDays(10), now.minusDays(400), now.minusDays(500)), exported);
+    }
+
+    private void insertBooking(LocalDateTime start, Long itemId, Long bookerId, String status) {
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), itemId, bookerId, status);
+    }
+
+    private Long insert(String sql) {
+        jdbcTemplate.update(sql);
+        return jdbcTemplate.queryForObject("SELECT MAX(" + (sql.contains("users") ? "user_id) FROM users"
+                : "item_id) FROM items"), Long.class);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+    private static final Long ITEM_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findByStatusAndEndAfter(any(), any())).thenReturn(List.of());
+        index = new BookingIntervalIndex(bookingRepository);
+        index.reconcile();
+    }
+
+    @Test
+    void rejectsOverlappingAndTouchingIntervals() {
+        assertThat(index.tryReserve(ITEM_ID, 1L, hour(10), hour(12))).isTrue();
+
+        assertThat(index.overlaps(ITEM_ID, hour(11), hour(13))).isTrue();
+        assertThat(index.overlaps(ITEM_ID, hour(8), hour(10))).isTrue();
+        assertThat(index.overlaps(ITEM_ID, hour(9), hour(14))).isTrue();
+        assertThat(index.overlaps(ITEM_ID, hour(13), hour(14))).isFalse();
+        assertThat(index.overlaps(2L, hour(10), hour(12))).isFalse();
+        assertThat(index.tryReserve(ITEM_ID, 2L, hour(11), hour(15))).isFalse();
+    }
+
+    @Test
+    void releaseKeepsRemainingBookingsOfMergedSegment() {
+        when(bookingRepository.findByStatusAndEndAfter(any(), any())).thenReturn(List.of(
+                booking(1L, hour(10), hour(12)),
+                booking(2L, hour(11), hour(14)),
+                booking(3L, hour(13), hour(16))));
+        index.reconcile();
+        assertThat(index.overlaps(ITEM_ID, hour(12).plusMinutes(30), hour(12).plusMinutes(45))).isTrue();
+
+        index.release(ITEM_ID, 2L);
+
+        assertThat(index.overlaps(ITEM_ID, hour(12).plusMinutes(30), hour(12).plusMinutes(45))).isFalse();
+        assertThat(index.overlaps(ITEM_ID, hour(11), hour(11))).isTrue();
+        assertThat(index.overlaps(ITEM_ID, hour(15), hour(15))).isTrue();
+        assertThat(index.tryReserve(ITEM_ID, 4L, hour(12).plusMinutes(30), hour(12).plusMinutes(45))).isTrue();
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        return new Booking(id, start, end, item, new User(), BookingStatus.APPROVED);
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return BASE.plusHours(hour);
+    }
+}
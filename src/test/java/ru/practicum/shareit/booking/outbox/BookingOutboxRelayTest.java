@@ -0,0 +1,154 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+// Own database, so relays of other cached test contexts do not drain its events.
+@SpringBootTest(properties = {"shareit.outbox.interval=PT1H", "shareit.outbox.batch-size=1",
+        "shareit.outbox.retry-backoff=PT1H",
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"})
+class BookingOutboxRelayTest {
+
+    @Autowired
+    private BookingOutboxRelay relay;
+    @Autowired
+    private BookingEventRepository bookingEventRepository;
+    @Autowired
+    private RecordingListener listener;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void failedEventBacksOffWithoutStallingOthers() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "outbox-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "outbox-booker@test.ru")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Kayak");
+        itemDto.setDescription("Two-seat kayak");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.addItem(itemDto, ownerId).getId();
+        Long approved = book(bookerId, itemId, 1);
+        Long rejected = book(bookerId, itemId, 3);
+        Long canceled = book(bookerId, itemId, 5);
+
+        bookingService.approve(ownerId, approved, true);
+        bookingService.approve(ownerId, rejected, false);
+        bookingService.cancel(bookerId, canceled);
+        listener.failOnce(rejected);
+
+        relay.relay();
+        assertEquals(List.of(approved), listener.received);
+
+        relay.relay();
+        assertEquals(List.of(approved, canceled), listener.received);
+        BookingEvent failed = bookingEventRepository.findAll().get(0);
+        assertEquals(rejected, failed.getBookingId());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        failed.setNextAttemptAt(LocalDateTime.now());
+        bookingEventRepository.save(failed);
+        relay.relay();
+        assertEquals(List.of(approved, canceled, rejected), listener.received);
+        assertEquals(0, bookingEventRepository.count());
+    }
+
+    @Test
+    void rollbackOnlyListenerFailsItsEventAlone() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "outbox-rollback-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "outbox-rollback-booker@test.ru")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Canoe");
+        itemDto.setDescription("Open canoe");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.addItem(itemDto, ownerId).getId();
+        Long approved = book(bookerId, itemId, 1);
+        bookingService.approve(ownerId, approved, true);
+        listener.rollBackOnce(approved);
+
+        relay.relay();
+        BookingEvent failed = bookingEventRepository.findAll().get(0);
+        assertEquals(approved, failed.getBookingId());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        failed.setNextAttemptAt(LocalDateTime.now());
+        bookingEventRepository.save(failed);
+        relay.relay();
+        assertEquals(0, bookingEventRepository.count());
+    }
+
+    private Long book(Long bookerId, Long itemId, int day) {
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setItemId(itemId);
+        request.setStart(LocalDateTime.now().plusDays(day));
+        request.setEnd(LocalDateTime.now().plusDays(day + 1));
+        return bookingService.create(bookerId, request).getId();
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingListener recordingListener(TransactionTemplate transactionTemplate) {
+            return new RecordingListener(transactionTemplate);
+        }
+    }
+
+    static class RecordingListener implements BookingEventListener {
+        private final List<Long> received = new CopyOnWriteArrayList<>();
+        private final Set<Long> failing = new HashSet<>();
+        private final Set<Long> rollingBack = new HashSet<>();
+        private final TransactionTemplate transactionTemplate;
+
+        RecordingListener(TransactionTemplate transactionTemplate) {
+            this.transactionTemplate = transactionTemplate;
+        }
+
+        void failOnce(Long bookingId) {
+            failing.add(bookingId);
+        }
+
+        void rollBackOnce(Long bookingId) {
+            rollingBack.add(bookingId);
+        }
+
+        @Override
+        public void onEvent(BookingEvent event) {
+            if (failing.remove(event.getBookingId())) {
+                throw new IllegalStateException("Listener unavailable");
+            }
+            if (rollingBack.remove(event.getBookingId())) {
+                // Joins the delivery transaction and marks it rollback-only without throwing.
+                transactionTemplate.executeWithoutResult(TransactionStatus::setRollbackOnly);
+                return;
+            }
+            received.add(event.getBookingId());
+        }
+    }
+}
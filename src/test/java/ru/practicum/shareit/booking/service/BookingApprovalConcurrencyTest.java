@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class BookingApprovalConcurrencyTest {
+    private static final int BOOKINGS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void approvesOnlyOneOfOverlappingBookingsApprovedConcurrently() throws Exception {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "concurrency-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "concurrency-booker@test.ru")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Cordless drill");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.addItem(itemDto, ownerId).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            CreateBookingRequestDto request = new CreateBookingRequestDto();
+            request.setItemId(itemId);
+            request.setStart(start.plusHours(i));
+            request.setEnd(start.plusHours(i + BOOKINGS));
+            bookingIds.add(bookingService.create(bookerId, request).getId());
+        }
+
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKINGS);
+        List<Future<BookingDto>> results = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            results.add(executor.submit(() -> {
+                ready.await();
+                return bookingService.approve(ownerId, bookingId, true);
+            }));
+        }
+        ready.countDown();
+
+        int approved = 0;
+        for (Future<BookingDto> result : results) {
+            try {
+                result.get();
+                approved++;
+            } catch (Exception e) {
+                // Rejected as overlapping with the approved booking.
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, approved);
+        assertEquals(1, bookingIds.stream()
+                .map(id -> bookingService.findByIdOrThrow(id).getStatus())
+                .filter(status -> status == BookingStatus.APPROVED)
+                .count());
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class BookingCreateTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rejectsBookingsOverlappingApprovalsTheIndexHasNotSeen() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "overlap-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "overlap-booker@test.ru")).getId();
+        Long itemId = addItem(ownerId, "Canoe");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long approvedId = bookingService.create(bookerId, request(itemId, start, start.plusDays(2))).getId();
+        // Approved by another instance, so only the database knows about it.
+        jdbcTemplate.update("UPDATE bookings SET status = 'APPROVED' WHERE booking_id = ?", approvedId);
+
+        assertThrows(BadRequestException.class,
+                () -> bookingService.create(bookerId, request(itemId, start.plusDays(1), start.plusDays(3))));
+
+        List<BookingBatchResultDto> results = bookingService.createBatch(bookerId, List.of(
+                request(itemId, start.plusDays(1), start.plusDays(3)),
+                request(itemId, start.plusDays(5), start.plusDays(6))));
+        assertNull(results.get(0).getBooking());
+        assertNotNull(results.get(0).getError());
+        assertNotNull(results.get(1).getBooking());
+    }
+
+    @Test
+    void reportsEveryRejectedEntryOfABatchAtItsIndex() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "batch-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "batch-booker@test.ru")).getId();
+        Long itemId = addItem(ownerId, "Tandem");
+        Long ownItemId = addItem(bookerId, "Scooter");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingBatchResultDto> results = bookingService.createBatch(bookerId, Arrays.asList(
+                request(itemId, start, start.plusDays(2)),
+                request(itemId, start.plusDays(1), start.plusDays(3)),
+                request(itemId, start.plusDays(3), start.plusDays(4)),
+                request(Long.MAX_VALUE, start, start.plusDays(1)),
+                request(ownItemId, start, start.plusDays(1)),
+                null));
+
+        assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertNotNull(results.get(0).getBooking());
+        assertEquals("Booking overlaps another booking of the batch", results.get(1).getError());
+        assertNotNull(results.get(2).getBooking());
+        assertEquals("Item with id " + Long.MAX_VALUE + " not found", results.get(3).getError());
+        assertEquals("Cannot book your own item", results.get(4).getError());
+        assertEquals("Booking must be provided", results.get(5).getError());
+        assertTrue(results.stream()
+                .filter(result -> result.getBooking() != null)
+                .allMatch(result -> result.getError() == null));
+    }
+
+    private Long addItem(Long ownerId, String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name);
+        itemDto.setAvailable(true);
+        return itemService.addItem(itemDto, ownerId).getId();
+    }
+
+    private CreateBookingRequestDto request(Long itemId, LocalDateTime start, LocalDateTime end) {
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(end);
+        return request;
+    }
+}
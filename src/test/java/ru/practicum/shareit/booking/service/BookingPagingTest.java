@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.common.KeysetPage;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class BookingPagingTest {
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void pagesBookerAndOwnerListsByCursorAndExactOffset() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "paging-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "paging-booker@test.ru")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Bicycle");
+        itemDto.setDescription("Road bicycle");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.addItem(itemDto, ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> newestFirst = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            CreateBookingRequestDto request = new CreateBookingRequestDto();
+            request.setItemId(itemId);
+            request.setStart(start.plusDays(i));
+            request.setEnd(start.plusDays(i).plusHours(1));
+            newestFirst.add(0, bookingService.create(bookerId, request).getId());
+        }
+
+        KeysetPage<BookingDto> first = bookingService.getAllByUser(bookerId, "ALL", 0, 2, null);
+        assertEquals(newestFirst.subList(0, 2), ids(first));
+        assertNotNull(first.nextCursor());
+        KeysetPage<BookingDto> second = bookingService.getAllByUser(bookerId, "ALL", 0, 2, first.nextCursor());
+        assertEquals(newestFirst.subList(2, 4), ids(second));
+        KeysetPage<BookingDto> last = bookingService.getAllByUser(bookerId, "ALL", 0, 2, second.nextCursor());
+        assertEquals(newestFirst.subList(4, 5), ids(last));
+        assertNull(last.nextCursor());
+
+        KeysetPage<BookingDto> owned = bookingService.getAllByOwner(ownerId, "FUTURE", 0, 3, null);
+        assertEquals(newestFirst.subList(0, 3), ids(owned));
+        assertEquals(newestFirst.subList(3, 5),
+                ids(bookingService.getAllByOwner(ownerId, "FUTURE", 0, 3, owned.nextCursor())));
+
+        // from is an exact offset, not rounded down to a multiple of size.
+        assertEquals(newestFirst.subList(1, 3), ids(bookingService.getAllByUser(bookerId, "ALL", 1, 2, null)));
+        assertEquals(newestFirst.subList(3, 5), ids(bookingService.getAllByOwner(ownerId, "ALL", 3, 4, null)));
+    }
+
+    private List<Long> ids(KeysetPage<BookingDto> page) {
+        return page.content().stream()
+                .map(BookingDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class BookingSummaryTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void countsBookingsPerStateAndItemAndRefreshesAfterApproval() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "summary-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "summary-booker@test.ru")).getId();
+        Long drillId = addItem(ownerId, "Drill");
+        Long sawId = addItem(ownerId, "Saw");
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long bookingId = book(bookerId, drillId, start);
+        book(bookerId, drillId, start.plusDays(2));
+        book(bookerId, sawId, start);
+
+        BookingSummaryDto summary = bookingService.getOwnerSummary(ownerId);
+        assertEquals(3L, summary.states().get(BookingState.ALL));
+        assertEquals(3L, summary.states().get(BookingState.FUTURE));
+        assertEquals(3L, summary.states().get(BookingState.WAITING));
+        assertEquals(0L, summary.states().get(BookingState.PAST));
+        assertEquals(2, summary.items().size());
+        assertEquals(drillId, summary.items().get(0).itemId());
+        assertEquals(2L, summary.items().get(0).all());
+
+        bookingService.approve(ownerId, bookingId, true);
+
+        summary = bookingService.getOwnerSummary(ownerId);
+        assertEquals(2L, summary.states().get(BookingState.WAITING));
+        assertEquals(1L, summary.items().get(0).waiting());
+    }
+
+    private Long addItem(Long ownerId, String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name);
+        itemDto.setAvailable(true);
+        return itemService.addItem(itemDto, ownerId).getId();
+    }
+
+    private Long book(Long bookerId, Long itemId, LocalDateTime start) {
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(start.plusHours(1));
+        return bookingService.create(bookerId, request).getId();
+    }
+}
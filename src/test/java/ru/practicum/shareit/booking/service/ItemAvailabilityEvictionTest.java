@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+// Without the outbox relay the cached availability has to be evicted by the booking service itself.
+@SpringBootTest(properties = {"shareit.outbox.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:availability;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"})
+class ItemAvailabilityEvictionTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void approvalEvictsCachedAvailability() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "availability-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "availability-booker@test.ru")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Tent");
+        itemDto.setDescription("Four-person tent");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.addItem(itemDto, ownerId).getId();
+
+        LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = from.plusDays(3);
+        assertEquals(List.of(new TimeSlotDto(from, to)), itemService.getAvailability(itemId, from, to));
+
+        CreateBookingRequestDto request = new CreateBookingRequestDto();
+        request.setItemId(itemId);
+        request.setStart(from.plusDays(1));
+        request.setEnd(from.plusDays(2));
+        Long bookingId = bookingService.create(bookerId, request).getId();
+        bookingService.approve(ownerId, bookingId, true);
+
+        assertEquals(List.of(new TimeSlotDto(from, from.plusDays(1)), new TimeSlotDto(from.plusDays(2), to)),
+                itemService.getAvailability(itemId, from, to));
+    }
+}
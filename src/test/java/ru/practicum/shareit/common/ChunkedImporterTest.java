@@ -0,0 +1,76 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "shareit.import.chunk-size=2")
+class ChunkedImporterTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsUsersAndItemsInChunks() {
+        ImportResult users = userService.importUsers(ndjson(
+                "{\"name\": \"a\", \"email\": \"import-a@test.ru\"}",
+                "{\"name\": \"b\", \"email\": \"import-b@test.ru\"}",
+                "{\"name\": \"c\", \"email\": \"import-c@test.ru\"}"));
+        assertEquals(new ImportResult(3, 2), users);
+        assertEquals(3, count("SELECT COUNT(DISTINCT user_id) FROM users WHERE email LIKE 'import-%'"));
+
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "import-owner@test.ru")).getId();
+        ImportResult items = itemService.importItems(ndjson(
+                "{\"name\": \"Imported drill\", \"description\": \"Drill\", \"available\": true}",
+                "{\"name\": \"Imported saw\", \"description\": \"Saw\", \"available\": true}"), ownerId);
+        assertEquals(new ImportResult(2, 1), items);
+        assertEquals(2, itemService.getAllByOwner(ownerId).size());
+    }
+
+    @Test
+    void keepsChunksCommittedBeforeInvalidRecord() {
+        assertThrows(BadRequestException.class, () -> userService.importUsers(ndjson(
+                "{\"name\": \"d\", \"email\": \"partial-d@test.ru\"}",
+                "{\"name\": \"e\", \"email\": \"partial-e@test.ru\"}",
+                "{\"name\": \"f\", \"email\": \"not an email\"}")));
+
+        assertEquals(2, count("SELECT COUNT(*) FROM users WHERE email LIKE 'partial-%'"));
+    }
+
+    @Test
+    void ignoresIdsSentByTheClient() {
+        UserDto existing = userService.addUser(new UserDto(null, "kept", "kept@test.ru"));
+
+        userService.importUsers(ndjson(
+                "{\"id\": " + existing.getId() + ", \"name\": \"intruder\", \"email\": \"intruder@test.ru\"}"));
+
+        assertEquals("kept@test.ru", userService.getUserById(existing.getId()).getEmail());
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE email = 'intruder@test.ru'"));
+    }
+
+    private InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
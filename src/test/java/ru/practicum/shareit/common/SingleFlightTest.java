@@ -0,0 +1,60 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private final SingleFlight<Long, Object> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallerSharesInFlightResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(joined);
+            return new Object();
+        }, () -> {
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Object shared = singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return new Object();
+        }, joined::countDown);
+
+        assertSame(leader.get(5, TimeUnit.SECONDS), shared);
+        assertEquals(1, loads.get());
+        assertEquals(2, singleFlight.execute(1L, loads::incrementAndGet, () -> {
+        }));
+    }
+
+    @Test
+    void failureIsRethrownAndNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException("boom");
+        }, () -> {
+        }));
+        assertEquals("ok", singleFlight.execute(1L, () -> "ok", () -> {
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
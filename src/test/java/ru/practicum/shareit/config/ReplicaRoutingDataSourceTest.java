@@ -0,0 +1,72 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("primary");
+        DataSource replica = node("replica");
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica, missing));
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToHealthyReplicas() {
+        routing.checkHealth();
+
+        assertEquals("primary", writes.execute(status -> currentNode()));
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", reads.execute(status -> currentNode()));
+        }
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaIsHealthy() {
+        ReplicaRoutingDataSource withoutReplicas = new ReplicaRoutingDataSource(node("primary"),
+                List.of(new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "")));
+        withoutReplicas.checkHealth();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(withoutReplicas);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        assertEquals("primary", readOnly.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class)));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+// Own database and no scheduled jobs, so every statement counted comes from the test.
+@SpringBootTest(properties = {"shareit.outbox.enabled=false", "shareit.archive.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:l2cache;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedUserLookupsByIdAndEmailDoNotReachJdbc() {
+        Long userId = userService.addUser(new UserDto(null, "cached", "cached-user@test.ru")).getId();
+        userRepository.findById(userId);
+        userRepository.findByEmail("cached-user@test.ru");
+        statistics.clear();
+
+        assertTrue(userRepository.findById(userId).isPresent());
+        assertTrue(userRepository.findByEmail("cached-user@test.ru").isPresent());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void versionBumpKeepsOtherItemsCached() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "cached-owner@test.ru")).getId();
+        Long drillId = addItem(ownerId, "Drill");
+        Long sawId = addItem(ownerId, "Saw");
+        itemRepository.findById(drillId);
+        itemRepository.findById(sawId);
+        statistics.clear();
+
+        assertTrue(itemRepository.findById(sawId).isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        itemService.bumpVersion(List.of(drillId));
+        statistics.clear();
+
+        assertTrue(itemRepository.findById(sawId).isPresent());
+        assertEquals(1L, itemRepository.findById(drillId).orElseThrow().getVersion());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deletingUserDropsTheirCascadedItems() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "deleted-owner@test.ru")).getId();
+        Long itemId = addItem(ownerId, "Ladder");
+        assertTrue(itemRepository.findById(itemId).isPresent());
+
+        userService.deleteUser(ownerId);
+
+        assertTrue(itemRepository.findById(itemId).isEmpty());
+        assertThrows(NotFoundException.class, () -> itemService.findByIdOrThrow(itemId));
+    }
+
+    @Test
+    void updatesNameWithoutEmail() {
+        Long userId = userService.addUser(new UserDto(null, "old", "renamed-user@test.ru")).getId();
+
+        UserDto updated = userService.update(userId, new UserDto(null, "new", null));
+
+        assertEquals("new", updated.getName());
+        assertEquals("renamed-user@test.ru", updated.getEmail());
+        assertEquals("new", userService.getUserById(userId).getName());
+    }
+
+    private Long addItem(Long ownerId, String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name);
+        itemDto.setAvailable(true);
+        return itemService.addItem(itemDto, ownerId).getId();
+    }
+}
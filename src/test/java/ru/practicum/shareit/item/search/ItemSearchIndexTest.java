@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findByAvailableTrue()).thenReturn(List.of(
+                new Item(1L, "Дрель", "Простая дрель", true, 10L, null, 0L),
+                new Item(2L, "Отвертка", "Аккумуляторная отвертка", true, 10L, null, 0L),
+                new Item(3L, "Drill", "Power drill with battery", true, 11L, null, 0L)));
+        index = new ItemSearchIndex(itemRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void matchesSubstringsOfNameOrDescriptionIgnoringCase() {
+        assertThat(index.search("дРЕль", 0, 10)).containsExactly(1L);
+        assertThat(index.search("аккУМ", 0, 10)).containsExactly(2L);
+        assertThat(index.search("r", 0, 10)).containsExactly(3L);
+        assertThat(index.search("ill with", 0, 10)).containsExactly(3L);
+        assertThat(index.search("drill battery", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void paginatesRankedMatches() {
+        assertThat(index.search("т", 0, 10)).containsExactly(2L, 1L);
+        assertThat(index.search("т", 1, 1)).containsExactly(1L);
+        assertThat(index.search("т", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void ranksNameAboveDescriptionAndWholeWordsAboveSubstrings() {
+        index.index(new Item(4L, "Drilling rig", "Heavy", true, 11L, null, 0L));
+        index.index(new Item(5L, "Case", "Drillbox for bits", true, 11L, null, 0L));
+        index.index(new Item(6L, "Bit set", "Fits any drill", true, 11L, null, 0L));
+
+        assertThat(index.search("drill", 0, 10)).containsExactly(3L, 4L, 6L, 5L);
+        assertThat(index.search("drill", 1, 2)).containsExactly(4L, 6L);
+    }
+
+    @Test
+    void reindexesEditedItemsAndDropsUnavailableOnes() {
+        index.index(new Item(1L, "Перфоратор", "Мощный", true, 10L, null, 0L));
+        index.index(new Item(3L, "Drill", "Power drill with battery", false, 11L, null, 0L));
+
+        assertThat(index.search("дрель", 0, 10)).isEmpty();
+        assertThat(index.search("перфо", 0, 10)).containsExactly(1L);
+        assertThat(index.search("drill", 0, 10)).isEmpty();
+    }
+}
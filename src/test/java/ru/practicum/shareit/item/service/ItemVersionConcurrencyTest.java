@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.CreateBookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ItemVersionConcurrencyTest {
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentBookingsCommentsAndEditsEachBumpTheVersion() throws Exception {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "version-owner@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "version-booker@test.ru")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Ladder");
+        itemDto.setDescription("Folding ladder");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.addItem(itemDto, ownerId).getId();
+        // A finished booking lets the booker comment on the item.
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, 'APPROVED')",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(3)),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)), itemId, bookerId);
+        long before = version(itemId);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Callable<Object>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            int slot = i;
+            writers.add(() -> {
+                CreateBookingRequestDto request = new CreateBookingRequestDto();
+                request.setItemId(itemId);
+                request.setStart(start.plusDays(slot));
+                request.setEnd(start.plusDays(slot).plusHours(1));
+                return bookingService.create(bookerId, request);
+            });
+            writers.add(() -> itemService.addComment(bookerId, itemId,
+                    new CommentDto(null, "Comment " + slot, null, null)));
+            writers.add(() -> {
+                ItemDto update = new ItemDto();
+                update.setDescription("Folding ladder " + slot);
+                return itemService.editingItem(itemId, update, ownerId);
+            });
+        }
+
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers.size());
+        List<Future<Object>> results = new ArrayList<>();
+        for (Callable<Object> writer : writers) {
+            results.add(executor.submit(() -> {
+                ready.await();
+                return writer.call();
+            }));
+        }
+        ready.countDown();
+        for (Future<Object> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        assertEquals(before + writers.size(), version(itemId));
+    }
+
+    private long version(Long itemId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM items WHERE item_id = ?", Long.class, itemId);
+    }
+}
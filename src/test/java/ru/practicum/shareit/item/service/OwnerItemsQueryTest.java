@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.common.CacheNames;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+// Own database and no scheduled jobs, so every query counted comes from the test.
+@SpringBootTest(properties = {"shareit.outbox.enabled=false", "shareit.archive.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:owneritems;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"})
+class OwnerItemsQueryTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loadsNewestCommentsOfAllItemsWithOneQuery() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "owner-items@test.ru")).getId();
+        Long bookerId = userService.addUser(new UserDto(null, "booker", "owner-items-booker@test.ru")).getId();
+        Long busyId = addItem(ownerId, "Kayak", bookerId);
+        Long quietId = addItem(ownerId, "Paddle", bookerId);
+        addItem(ownerId, "Helmet", null);
+        for (int i = 0; i < 12; i++) {
+            itemService.addComment(bookerId, busyId, new CommentDto(null, "Comment " + i, null, null));
+        }
+        itemService.addComment(bookerId, quietId, new CommentDto(null, "Only comment", null, null));
+        cacheManager.getCache(CacheNames.ITEM_COMMENTS).clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemDto> items = itemService.getAllByOwner(ownerId);
+
+        // Items, last, archived last and next bookings, comment counts and the newest comments.
+        assertEquals(6, statistics.getQueryExecutionCount());
+        assertEquals(12L, items.get(0).getCommentsCount());
+        assertEquals(10, items.get(0).getComments().size());
+        assertEquals("Comment 11", items.get(0).getComments().get(0).getText());
+        assertEquals(1L, items.get(1).getCommentsCount());
+        assertEquals("Only comment", items.get(1).getComments().get(0).getText());
+        assertEquals(0L, items.get(2).getCommentsCount());
+        assertEquals(List.of(), items.get(2).getComments());
+
+        statistics.clear();
+        itemService.getAllByOwner(ownerId);
+        assertEquals(5, statistics.getQueryExecutionCount());
+    }
+
+    private Long addItem(Long ownerId, String name, Long bookerId) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name);
+        itemDto.setAvailable(true);
+        Long itemId = itemService.addItem(itemDto, ownerId).getId();
+        if (bookerId != null) {
+            // A finished booking lets the booker comment on the item.
+            jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                            + "VALUES (?, ?, ?, ?, 'APPROVED')",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(3)),
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(2)), itemId, bookerId);
+        }
+        return itemId;
+    }
+}
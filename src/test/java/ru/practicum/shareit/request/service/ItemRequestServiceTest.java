@@ -0,0 +1,103 @@
+package ru.practicum.shareit.request.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+// Own database and no scheduled jobs, so every query counted comes from the test.
+@SpringBootTest(properties = {"shareit.outbox.enabled=false", "shareit.archive.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:requests;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"})
+class ItemRequestServiceTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void loadsAnswersOfAllRequestsWithOneQuery() {
+        Long requesterId = userService.addUser(new UserDto(null, "requester", "answers-requester@test.ru")).getId();
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "answers-owner@test.ru")).getId();
+        Long tentRequest = request(requesterId, "Need a tent");
+        Long stoveRequest = request(requesterId, "Need a stove");
+        Long unanswered = request(requesterId, "Need a canoe");
+        Long tent = answer(ownerId, tentRequest, "Tent");
+        Long stove = answer(ownerId, stoveRequest, "Stove");
+        Long spareStove = answer(ownerId, stoveRequest, "Spare stove");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> requests = itemRequestService.getOwn(requesterId);
+
+        // One query for the requests and one for the items answering all of them.
+        assertEquals(2, statistics.getQueryExecutionCount());
+        assertEquals(List.of(unanswered, stoveRequest, tentRequest), requestIds(requests));
+        assertEquals(List.of(), answerIds(requests.get(0)));
+        assertEquals(List.of(stove, spareStove), answerIds(requests.get(1)));
+        assertEquals(List.of(tent), answerIds(requests.get(2)));
+    }
+
+    @Test
+    void pagesRequestsOfOtherUsersNewestFirst() {
+        Long userId = userService.addUser(new UserDto(null, "reader", "paging-reader@test.ru")).getId();
+        Long requesterId = userService.addUser(new UserDto(null, "requester", "paging-requester@test.ru")).getId();
+        request(userId, "Own request");
+        Long first = request(requesterId, "First");
+        Long second = request(requesterId, "Second");
+        Long third = request(requesterId, "Third");
+        Long fourth = request(requesterId, "Fourth");
+
+        assertEquals(List.of(fourth, third), requestIds(itemRequestService.getAll(userId, 0, 2)));
+        assertEquals(List.of(second, first), requestIds(itemRequestService.getAll(userId, 2, 2)));
+        assertEquals(List.of(), requestIds(itemRequestService.getAll(userId, 4, 2)));
+        assertEquals(List.of(third, second), requestIds(itemRequestService.getAll(userId, 1, 2)));
+        assertEquals(List.of(first), requestIds(itemRequestService.getAll(userId, 3, 2)));
+    }
+
+    private Long request(Long userId, String description) {
+        ItemRequestDto dto = new ItemRequestDto();
+        dto.setDescription(description);
+        return itemRequestService.create(userId, dto).getId();
+    }
+
+    private Long answer(Long ownerId, Long requestId, String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name);
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(requestId);
+        return itemService.addItem(itemDto, ownerId).getId();
+    }
+
+    private List<Long> requestIds(List<ItemRequestDto> requests) {
+        return requests.stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> answerIds(ItemRequestDto request) {
+        return request.getItems().stream()
+                .map(ItemAnswerDto::getId)
+                .collect(Collectors.toList());
+    }
+}